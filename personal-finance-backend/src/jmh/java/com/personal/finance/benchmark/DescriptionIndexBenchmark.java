@@ -0,0 +1,64 @@
+package com.personal.finance.benchmark;
+
+import com.personal.finance.service.search.DescriptionIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text search over one user's descriptions through {@link DescriptionIndex}: exact, type-ahead prefix and
+ * fuzzy (typo) queries against a ledger of {@code rows} merchant-style descriptions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescriptionIndexBenchmark {
+
+    private static final String[] MERCHANTS = {
+            "Amazon Marketplace", "Amazon Prime", "Whole Foods Market", "Shell Station", "Netflix", "Spotify",
+            "Uber Trip", "Uber Eats", "Starbucks Coffee", "Target Store", "Walmart Supercenter", "Apple Store",
+            "Delta Airlines", "Marriott Hotel", "City Electric", "Water Utility", "Rent Payment", "Gym Membership"
+    };
+
+    @Param({"300000"})
+    public int rows;
+
+    private DescriptionIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11L);
+        index = new DescriptionIndex();
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+            index.add(i, start.plusDays(random.nextInt(3_650)),
+                    merchant + " #" + random.nextInt(10_000) + " ref" + random.nextInt(1_000_000));
+        }
+    }
+
+    @Benchmark
+    public long[] exactTerm() {
+        return index.search("netflix", false, 50);
+    }
+
+    @Benchmark
+    public long[] prefixTypeAhead() {
+        return index.search("amaz", false, 50);
+    }
+
+    @Benchmark
+    public long[] twoTermsWithPrefix() {
+        return index.search("uber ea", false, 50);
+    }
+
+    @Benchmark
+    public long[] fuzzyTypo() {
+        return index.search("starbuks", true, 50);
+    }
+}
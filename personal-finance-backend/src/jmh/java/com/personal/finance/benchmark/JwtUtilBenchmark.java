@@ -0,0 +1,125 @@
+package com.personal.finance.benchmark;
+
+import com.personal.finance.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. {@code extractUsername} and {@code validateToken} reuse one token, so after
+ * the first call they measure the verified-claims cache; the {@code cold*} variants use a distinct token
+ * per call on a fresh cache, i.e. digest, HMAC check, parse and cache insert. {@code legacyParsePerCall} is
+ * the pre-cache pattern (new parser and full HMAC check on every call) kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+    private Key key;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken(42L, "benchmark-user");
+        userDetails = new User("benchmark-user", "n/a", List.of());
+        key = Keys.hmacShaKeyFor("YourVerySecretKeyThatIsAtLeast32CharactersLong".getBytes());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchmark-user");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    public String coldExtractUsername(ColdTokens cold) {
+        return cold.jwtUtil.extractUsername(cold.next());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+    public boolean coldValidateToken(ColdTokens cold) {
+        return cold.jwtUtil.validateToken(cold.next(), userDetails);
+    }
+
+    @Benchmark
+    public String legacyParsePerCall() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    /**
+     * Distinct pre-signed tokens and a new JwtUtil (empty cache) per iteration. Short iterations keep the
+     * call count below the pool size; teardown fails the run if any call was served from the cache.
+     */
+    @State(Scope.Thread)
+    public static class ColdTokens {
+
+        private static final int POOL_SIZE = 1 << 18;
+
+        private final String[] tokens = new String[POOL_SIZE];
+        private JwtUtil jwtUtil;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void signTokens() {
+            // Signed directly: JwtUtil.generateToken logs every call
+            Key key = Keys.hmacShaKeyFor("YourVerySecretKeyThatIsAtLeast32CharactersLong".getBytes());
+            Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+            for (int i = 0; i < POOL_SIZE; i++) {
+                tokens[i] = Jwts.builder()
+                        .setId("cold-" + i)
+                        .setSubject("benchmark-user")
+                        .claim("uid", 42L)
+                        .setIssuedAt(new Date())
+                        .setExpiration(expiration)
+                        .signWith(key)
+                        .compact();
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void freshCache() {
+            jwtUtil = new JwtUtil();
+            cursor = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void checkCold() {
+            if (jwtUtil.claimsCacheStats().hitCount() > 0) {
+                throw new IllegalStateException("Cold benchmark hit the claims cache; raise POOL_SIZE or shorten iterations");
+            }
+        }
+
+        String next() {
+            String token = tokens[cursor];
+            cursor = (cursor + 1) & (POOL_SIZE - 1);
+            return token;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.personal.finance.benchmark;
+
+import com.personal.finance.model.Transaction;
+import com.personal.finance.service.analytics.LedgerColumns;
+import com.personal.finance.service.money.MinorUnits;
+import com.personal.finance.service.money.MoneyTotals;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-JVM grouping of a synthetic ledger, as the category and monthly endpoints originally did it
+ * ({@code summingDouble}), against exact minor-unit accumulation ({@link MoneyTotals}) over the same rows
+ * and the same aggregates answered from {@link LedgerColumns} prefix sums.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class LedgerAggregationBenchmark {
+
+    static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Shopping", "Utilities", "Health", "Travel", "Other"};
+    private static final DateTimeFormatter MONTH_KEY = DateTimeFormatter.ofPattern("yyyy-MMMM");
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Transaction> ledger;
+    private LedgerColumns columns;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        ledger = syntheticLedger(rows, 7L);
+        List<Transaction> byDate = new ArrayList<>(ledger);
+        byDate.sort(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId));
+        columns = new LedgerColumns(rows);
+        for (Transaction t : byDate) {
+            columns.add(t.getId(), t.getDate(), MinorUnits.of(t.getAmount()), t.getCategory());
+        }
+        to = LocalDate.of(2025, 1, 1);
+        from = to.minusYears(5);
+    }
+
+    @Benchmark
+    public Map<String, Long> categoryTotalsColumnar() {
+        Map<String, Long> totals = new HashMap<>();
+        columns.forEachCategoryTotal(from, to, totals::put);
+        return totals;
+    }
+
+    @Benchmark
+    public Map<LocalDate, Long> monthlyTotalsColumnar() {
+        Map<LocalDate, Long> totals = new TreeMap<>();
+        columns.forEachMonthTotal(from, to, totals::put);
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotalsSummingDouble() {
+        return ledger.stream()
+                .collect(Collectors.groupingBy(
+                        Transaction::getCategory,
+                        Collectors.summingDouble(t -> t.getAmount().doubleValue())
+                ));
+    }
+
+    @Benchmark
+    public Map<String, Double> monthlyTotalsSummingDouble() {
+        return ledger.stream()
+                .collect(Collectors.groupingBy(
+                        t -> t.getDate().format(MONTH_KEY),
+                        TreeMap::new,
+                        Collectors.summingDouble(t -> t.getAmount().doubleValue())
+                ));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> categoryTotalsMinorUnits() {
+        MoneyTotals<String> totals = MoneyTotals.unordered();
+        for (Transaction t : ledger) {
+            totals.add(t.getCategory(), t.getAmount());
+        }
+        return totals.toDecimals();
+    }
+
+    // Keyed by month start; the label is formatted once per month rather than once per row
+    @Benchmark
+    public Map<String, BigDecimal> monthlyTotalsMinorUnits() {
+        MoneyTotals<LocalDate> totals = MoneyTotals.sorted();
+        for (Transaction t : ledger) {
+            totals.add(t.getDate().withDayOfMonth(1), MinorUnits.of(t.getAmount()));
+        }
+        return totals.toDecimals(month -> month.format(MONTH_KEY), TreeMap::new);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> categoryTotalsBigDecimal() {
+        return ledger.stream()
+                .collect(Collectors.groupingBy(
+                        Transaction::getCategory,
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
+                ));
+    }
+
+    // Deterministic ledger: amounts 0.01..500.00 spread over the last five years
+    static List<Transaction> syntheticLedger(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        List<Transaction> ledger = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setDescription("Synthetic " + i);
+            transaction.setAmount(BigDecimal.valueOf(random.nextLong(1, 50_001), 2));
+            transaction.setDate(today.minusDays(random.nextInt(5 * 365)));
+            transaction.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            ledger.add(transaction);
+        }
+        return ledger;
+    }
+}
@@ -0,0 +1,62 @@
+package com.personal.finance.benchmark;
+
+import com.personal.finance.service.TokenBlacklistService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation lookups from many request threads at once, for both revoked and (common) unrevoked tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class TokenBlacklistBenchmark {
+
+    private static final int REVOKED = 10_000;
+
+    private TokenBlacklistService service;
+    private String[] revokedIds;
+    private String[] liveIds;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("revocation-benchmark");
+        service = new TokenBlacklistService(directory.resolve("revoked.log").toString(), REVOKED);
+        Date expiry = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        revokedIds = new String[REVOKED];
+        liveIds = new String[REVOKED];
+        for (int i = 0; i < REVOKED; i++) {
+            revokedIds[i] = UUID.randomUUID().toString();
+            liveIds[i] = UUID.randomUUID().toString();
+            service.revoke(revokedIds[i], expiry);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("revoked.log"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean lookupUnrevoked() {
+        return service.isRevoked(liveIds[ThreadLocalRandom.current().nextInt(REVOKED)]);
+    }
+
+    @Benchmark
+    public boolean lookupRevoked() {
+        return service.isRevoked(revokedIds[ThreadLocalRandom.current().nextInt(REVOKED)]);
+    }
+}
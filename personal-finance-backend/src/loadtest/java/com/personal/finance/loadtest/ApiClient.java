@@ -0,0 +1,112 @@
+package com.personal.finance.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thin JSON client over the JDK {@link HttpClient}. Calls made through {@link #call} are timed per endpoint
+ * into a {@link LatencyRecorder}; {@link #send} is the untimed variant the generator uses.
+ */
+final class ApiClient {
+
+    private static final int MAX_BUSY_RETRIES = 20;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final ObjectMapper mapper;
+
+    ApiClient(String baseUrl, Duration requestTimeout, ObjectMapper mapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Sends one request and records its latency under {@code endpoint}. Transport failures count as errors
+     * and come back as null.
+     */
+    HttpResponse<String> call(LatencyRecorder recorder, String endpoint, String method, String path, String token, Object body) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = send(method, path, token, body);
+            recorder.record(endpoint, System.nanoTime() - start, isSuccess(response));
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    HttpResponse<String> send(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Register and login shed load with 503 + Retry-After while the hashing pool is full; seeding waits it out
+    HttpResponse<String> sendRetryingBusy(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(method, path, null, body);
+        for (int attempt = 0; response.statusCode() == 503 && attempt < MAX_BUSY_RETRIES; attempt++) {
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            TimeUnit.SECONDS.sleep(Math.max(retryAfter, 1));
+            response = send(method, path, null, body);
+        }
+        return response;
+    }
+
+    String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = sendRetryingBusy("POST", "/auth/login",
+                Map.of("username", username, "password", password));
+        return tokenFrom(response);
+    }
+
+    // Token from a login response, or null if the login failed
+    String tokenFrom(HttpResponse<String> response) {
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode token = readTree(response).get("token");
+        return token != null ? token.asText() : null;
+    }
+
+    JsonNode readTree(HttpResponse<String> response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected non-JSON response from " + response.uri(), e);
+        }
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+}
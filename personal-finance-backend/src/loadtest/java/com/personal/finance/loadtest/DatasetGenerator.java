@@ -0,0 +1,98 @@
+package com.personal.finance.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Seeds N fresh users, each with M transactions and a handful of budgets. Transactions go through
+ * POST /api/transactions/batch in chunks of up to the server's batch limit, so every chunk is one
+ * batched insert, and the category dictionary, rollups and data versions stay as consistent as they
+ * would be for real clients. Usernames carry a per-run prefix, so runs never collide.
+ */
+final class DatasetGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(DatasetGenerator.class.getName());
+
+    static final String PASSWORD = "load-test-password";
+
+    record SeededUser(String username, String token) {
+    }
+
+    record Result(List<SeededUser> users, long transactions, long budgets, double seconds) {
+    }
+
+    private final ApiClient client;
+    private final LoadTestConfig config;
+    private final SyntheticLedger ledger;
+
+    DatasetGenerator(ApiClient client, LoadTestConfig config, SyntheticLedger ledger) {
+        this.client = client;
+        this.config = config;
+        this.ledger = ledger;
+    }
+
+    Result seed(String runId) throws InterruptedException {
+        long start = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(config.seed());
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(config.seedThreads(), 1));
+        try {
+            List<Future<SeededUser>> pending = new ArrayList<>(config.users());
+            for (int i = 0; i < config.users(); i++) {
+                String username = "lt-" + runId + "-" + i;
+                SplittableRandom random = root.split();
+                pending.add(pool.submit(() -> seedUser(username, random)));
+            }
+            List<SeededUser> users = new ArrayList<>(pending.size());
+            for (Future<SeededUser> future : pending) {
+                users.add(future.get());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            LOGGER.info(() -> String.format("Seeded %d users in %.1fs", users.size(), seconds));
+            return new Result(users,
+                    (long) config.users() * config.transactionsPerUser(),
+                    (long) config.users() * Math.min(config.budgetsPerUser(), SyntheticLedger.categoryCount()),
+                    seconds);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SeededUser seedUser(String username, SplittableRandom random) throws IOException, InterruptedException {
+        expectOk(client.sendRetryingBusy("POST", "/auth/register",
+                Map.of("username", username, "password", PASSWORD, "email", username + "@loadtest.invalid")), "register " + username);
+        String token = client.login(username, PASSWORD);
+        if (token == null) {
+            throw new IllegalStateException("Login failed for freshly registered " + username);
+        }
+
+        int remaining = config.transactionsPerUser();
+        int chunk = Math.max(config.batchSize(), 1);
+        while (remaining > 0) {
+            int size = Math.min(chunk, remaining);
+            expectOk(client.send("POST", "/api/transactions/batch", token, ledger.transactions(size, random)),
+                    "batch insert for " + username);
+            remaining -= size;
+        }
+        for (Map<String, Object> budget : ledger.budgets(config.budgetsPerUser(), config.transactionsPerUser(), random)) {
+            expectOk(client.send("POST", "/api/budgets", token, budget), "budget for " + username);
+        }
+        return new SeededUser(username, token);
+    }
+
+    private static void expectOk(HttpResponse<String> response, String what) {
+        if (!ApiClient.isSuccess(response)) {
+            throw new IllegalStateException(what + " answered " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.personal.finance.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every request latency per endpoint, kept raw so percentiles are exact (nearest rank) rather than
+ * bucketed, and a count of every operation performed. Samples taken before {@link #startMeasuring()} are
+ * dropped, which discards the warmup.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    // Filled up front and only read afterwards, so concurrent recording needs no further locking
+    private final Map<Operation, LongAdder> operations = new EnumMap<>(Operation.class);
+    private volatile boolean measuring;
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new LongAdder());
+        }
+    }
+
+    void startMeasuring() {
+        measuring = true;
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        if (measuring) {
+            endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+        }
+    }
+
+    void recordOperation(Operation operation) {
+        if (measuring) {
+            operations.get(operation).increment();
+        }
+    }
+
+    /**
+     * Operations actually performed, with their share of all operations and of the requests they issued.
+     * The request share is what the server saw, which differs from the configured weights because a
+     * dashboard is four requests and a list two.
+     */
+    Map<Operation, OperationSummary> summarizeOperations(double elapsedSeconds) {
+        long totalOperations = 0;
+        long totalRequests = 0;
+        for (Map.Entry<Operation, LongAdder> entry : operations.entrySet()) {
+            long count = entry.getValue().sum();
+            totalOperations += count;
+            totalRequests += count * entry.getKey().requests();
+        }
+        Map<Operation, OperationSummary> summaries = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LongAdder> entry : operations.entrySet()) {
+            long count = entry.getValue().sum();
+            long requests = count * entry.getKey().requests();
+            summaries.put(entry.getKey(), new OperationSummary(
+                    count,
+                    entry.getKey().requests(),
+                    Samples.round(count / elapsedSeconds),
+                    totalOperations == 0 ? 0 : Samples.round((double) count / totalOperations),
+                    totalRequests == 0 ? 0 : Samples.round((double) requests / totalRequests)));
+        }
+        return summaries;
+    }
+
+    // Per endpoint (sorted by name), plus every request together under "total"
+    Map<String, EndpointSummary> summarize(double elapsedSeconds) {
+        Map<String, EndpointSummary> summaries = new TreeMap<>();
+        Samples all = new Samples();
+        endpoints.forEach((endpoint, samples) -> {
+            summaries.put(endpoint, samples.summarize(elapsedSeconds));
+            all.addAll(samples);
+        });
+        summaries.put("total", all.summarize(elapsedSeconds));
+        return summaries;
+    }
+
+    record EndpointSummary(
+            long requests,
+            long errors,
+            double errorRate,
+            double throughputPerSecond,
+            double meanMs,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs
+    ) {
+    }
+
+    record OperationSummary(
+            long operations,
+            int requestsPerOperation,
+            double operationsPerSecond,
+            double operationShare,
+            double requestShare
+    ) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long latency, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.nanos[i], true);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized EndpointSummary summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long latency : sorted) {
+                sum += latency;
+            }
+            return new EndpointSummary(
+                    count,
+                    errors,
+                    count == 0 ? 0 : round((double) errors / count),
+                    round(count / elapsedSeconds),
+                    count == 0 ? 0 : millis((double) sum / count),
+                    millis(percentile(sorted, 50)),
+                    millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)),
+                    millis(count == 0 ? 0 : sorted[count - 1]));
+        }
+
+        // Nearest-rank percentile of an ascending array
+        private static long percentile(long[] sorted, double percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double millis(double nanos) {
+            return round(nanos / TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.personal.finance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Closed-loop driver: {@code concurrency} virtual users, each bound to one seeded account, pick operations
+ * from the configured mix and issue them back to back (plus optional think time) until the run ends.
+ * The mix weights operations, not requests (see {@link Operation}); each operation performed is counted so
+ * the report shows the mix that actually ran. Requests are unconditional (no If-None-Match), so every call does the full server-side work.
+ */
+final class LoadDriver {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadDriver.class.getName());
+
+    private final ApiClient client;
+    private final LoadTestConfig config;
+    private final SyntheticLedger ledger;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadDriver(ApiClient client, LoadTestConfig config, SyntheticLedger ledger) {
+        this.client = client;
+        this.config = config;
+        this.ledger = ledger;
+        this.operations = config.mix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    record Result(Map<Operation, LatencyRecorder.OperationSummary> operations,
+                  Map<String, LatencyRecorder.EndpointSummary> endpoints,
+                  double measuredSeconds) {
+    }
+
+    Result run(List<DatasetGenerator.SeededUser> users) throws InterruptedException {
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("The driver needs at least one seeded user");
+        }
+        int concurrency = Math.max(config.concurrency(), 1);
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long runEnd = warmupEnd + config.duration().toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        SplittableRandom root = new SplittableRandom(config.seed() ^ 0x5DEECE66DL);
+        for (int i = 0; i < concurrency; i++) {
+            VirtualUser user = new VirtualUser(users.get(i % users.size()), root.split());
+            pool.execute(() -> {
+                try {
+                    user.runUntil(runEnd);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        LOGGER.info(() -> "Warming up for " + config.warmup().toSeconds() + "s with " + concurrency + " virtual users");
+        sleepUntil(warmupEnd);
+        recorder.startMeasuring();
+        long measureStart = System.nanoTime();
+        LOGGER.info(() -> "Measuring for " + config.duration().toSeconds() + "s");
+
+        // In-flight requests may overrun the deadline by up to one request timeout
+        done.await(config.duration().plus(config.requestTimeout()).plus(config.warmup()).toMillis(), TimeUnit.MILLISECONDS);
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+        pool.shutdownNow();
+        return new Result(recorder.summarizeOperations(measuredSeconds), recorder.summarize(measuredSeconds),
+                measuredSeconds);
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private final class VirtualUser {
+
+        private final String username;
+        private final SplittableRandom random;
+        // Ids this virtual user created and has not deleted yet; deletes never touch the seeded ledger
+        private final Deque<Long> created = new ArrayDeque<>();
+        private String token;
+
+        VirtualUser(DatasetGenerator.SeededUser account, SplittableRandom random) {
+            this.username = account.username();
+            this.token = account.token();
+            this.random = random;
+        }
+
+        void runUntil(long deadlineNanos) {
+            Duration thinkTime = config.thinkTime();
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                Operation performed = switch (pick(random)) {
+                    case LOGIN -> login();
+                    case DASHBOARD -> dashboard();
+                    case LIST -> list();
+                    case CREATE -> create();
+                    case DELETE -> delete();
+                };
+                // Counted on completion, like the request samples, so both cover the same measured window
+                recorder.recordOperation(performed);
+                if (!thinkTime.isZero()) {
+                    try {
+                        Thread.sleep(thinkTime.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        private Operation login() {
+            HttpResponse<String> response = client.call(recorder, "POST /auth/login", "POST", "/auth/login", null,
+                    Map.of("username", username, "password", DatasetGenerator.PASSWORD));
+            String fresh = client.tokenFrom(response);
+            if (fresh != null) {
+                token = fresh;
+            }
+            return Operation.LOGIN;
+        }
+
+        private Operation dashboard() {
+            get("GET /auth/me", "/auth/me");
+            get("GET /api/transactions/categories", "/api/transactions/categories");
+            get("GET /api/transactions/monthly", "/api/transactions/monthly?range=1");
+            get("GET /api/budgets/status", "/api/budgets/status?month=" + YearMonth.now());
+            return Operation.DASHBOARD;
+        }
+
+        private Operation list() {
+            get("GET /api/transactions?limit=50", "/api/transactions?limit=50");
+            get("GET /api/budgets", "/api/budgets");
+            return Operation.LIST;
+        }
+
+        private Operation create() {
+            HttpResponse<String> response = client.call(recorder, "POST /api/transactions", "POST", "/api/transactions",
+                    token, ledger.transaction(random));
+            if (ApiClient.isSuccess(response)) {
+                JsonNode id = client.readTree(response).get("id");
+                if (id != null && id.canConvertToLong()) {
+                    created.push(id.asLong());
+                }
+            }
+            return Operation.CREATE;
+        }
+
+        // Nothing of our own to delete yet: create instead (counted as a create), so the mix keeps its write share
+        private Operation delete() {
+            Long id = created.poll();
+            if (id == null) {
+                return create();
+            }
+            client.call(recorder, "DELETE /api/transactions/{id}", "DELETE", "/api/transactions/" + id, token, null);
+            return Operation.DELETE;
+        }
+
+        private void get(String endpoint, String path) {
+            client.call(recorder, endpoint, "GET", path, token, null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.personal.finance.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.personal.finance.PersonalFinanceBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Entry point of the load-test harness: seeds a synthetic dataset, replays the configured request mix and
+ * writes per-endpoint throughput, latency percentiles and error rate to a JSON report. Run it with
+ * {@code mvn -Ploadtest -DskipTests verify}; see {@link LoadTestConfig} for the {@code loadtest.*} settings.
+ * Without {@code loadtest.base-url} the application is started in this JVM with {@code loadtest.profiles} against
+ * the database configured in application.properties, which is convenient but shares CPU with the driver;
+ * point it at a separately started server for numbers worth comparing.
+ */
+public final class LoadTest {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadTest.class.getName());
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        String baseUrl = config.baseUrl();
+        if (baseUrl.isEmpty()) {
+            // A command-line argument, because builder properties are defaults that application.properties overrides
+            String[] applicationArgs = Arrays.copyOf(args, args.length + 1);
+            applicationArgs[args.length] = "--server.port=0";
+            application = new SpringApplicationBuilder(PersonalFinanceBackendApplication.class)
+                    .profiles(config.profiles().split(","))
+                    .run(applicationArgs);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            ApiClient client = new ApiClient(baseUrl, config.requestTimeout(), mapper);
+            SyntheticLedger ledger = new SyntheticLedger(LocalDate.now(), config.historyDays());
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            Instant startedAt = Instant.now();
+
+            LOGGER.info("Seeding " + config.users() + " users x " + config.transactionsPerUser()
+                    + " transactions against " + baseUrl);
+            DatasetGenerator.Result dataset = new DatasetGenerator(client, config, ledger).seed(runId);
+            LoadDriver.Result load = new LoadDriver(client, config, ledger).run(dataset.users());
+
+            writeReport(mapper, config.report(), report(config, baseUrl, runId, startedAt, dataset, load));
+            load.operations().forEach((operation, summary) -> LOGGER.info(String.format(
+                    "%-36s %8d ops %9.1f/s  %5.1f%% of operations  %5.1f%% of requests",
+                    operation, summary.operations(), summary.operationsPerSecond(),
+                    summary.operationShare() * 100, summary.requestShare() * 100)));
+            load.endpoints().forEach((endpoint, summary) -> LOGGER.info(String.format(
+                    "%-36s %8d req %9.1f/s  p50 %8.2f  p95 %8.2f  p99 %8.2f ms  errors %.2f%%",
+                    endpoint, summary.requests(), summary.throughputPerSecond(),
+                    summary.p50Ms(), summary.p95Ms(), summary.p99Ms(), summary.errorRate() * 100)));
+            LOGGER.info("Report written to " + config.report().toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, String baseUrl, String runId, Instant startedAt,
+                                              DatasetGenerator.Result dataset, LoadDriver.Result load) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        // Only applied in-process; an external server runs whatever profiles it was started with
+        settings.put("profiles", config.baseUrl().isEmpty() ? config.profiles() : null);
+        settings.put("users", config.users());
+        settings.put("transactionsPerUser", config.transactionsPerUser());
+        settings.put("budgetsPerUser", config.budgetsPerUser());
+        settings.put("historyDays", config.historyDays());
+        settings.put("concurrency", config.concurrency());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("thinkTimeMs", config.thinkTime().toMillis());
+        // Weights per operation; the operations section below has the mix that ran and its request share
+        settings.put("mix", config.mix());
+        settings.put("seed", config.seed());
+
+        Map<String, Object> seeding = new LinkedHashMap<>();
+        seeding.put("users", dataset.users().size());
+        seeding.put("transactions", dataset.transactions());
+        seeding.put("budgets", dataset.budgets());
+        seeding.put("seconds", Math.round(dataset.seconds() * 10) / 10.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("runId", runId);
+        report.put("startedAt", startedAt.toString());
+        report.put("baseUrl", baseUrl);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("config", settings);
+        report.put("seeding", seeding);
+        report.put("measuredSeconds", Math.round(load.measuredSeconds() * 10) / 10.0);
+        report.put("operations", load.operations());
+        report.put("endpoints", load.endpoints());
+        return report;
+    }
+
+    private static void writeReport(ObjectMapper mapper, Path path, Map<String, Object> report) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        mapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+}
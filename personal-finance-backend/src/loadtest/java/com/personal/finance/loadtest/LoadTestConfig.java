@@ -0,0 +1,82 @@
+package com.personal.finance.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties (the loadtest Maven profile passes them on).
+ * An empty base URL starts the application in-process with the {@code loadtest.profiles} Spring profiles.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        String profiles,
+        String label,
+        long seed,
+        int users,
+        int transactionsPerUser,
+        int budgetsPerUser,
+        int historyDays,
+        int batchSize,
+        int seedThreads,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        Duration requestTimeout,
+        Map<Operation, Integer> mix,
+        Path report
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                property("loadtest.base-url", ""),
+                property("loadtest.profiles", "loadtest"),
+                property("loadtest.label", "unlabelled"),
+                Long.parseLong(property("loadtest.seed", "42")),
+                intProperty("loadtest.users", 20),
+                intProperty("loadtest.transactions-per-user", 2000),
+                intProperty("loadtest.budgets-per-user", 5),
+                intProperty("loadtest.history-days", 730),
+                intProperty("loadtest.batch-size", 1000),
+                intProperty("loadtest.seed-threads", 4),
+                intProperty("loadtest.concurrency", 16),
+                Duration.ofSeconds(intProperty("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(intProperty("loadtest.duration-seconds", 60)),
+                Duration.ofMillis(intProperty("loadtest.think-time-ms", 0)),
+                Duration.ofSeconds(intProperty("loadtest.request-timeout-seconds", 30)),
+                parseMix(property("loadtest.mix", "login:5,dashboard:25,list:40,create:20,delete:10")),
+                Path.of(property("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    // "login:5,dashboard:25,..." -> relative weights; operations left out are never picked
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix entries must be name:weight, got '" + part + "'");
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("loadtest.mix weights must not be negative");
+            }
+            mix.put(Operation.valueOf(entry[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = property(name, "");
+        return value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.personal.finance.loadtest;
+
+/**
+ * User actions the driver replays. Each one issues the same calls as the frontend screen it stands for, so
+ * one operation can be several requests: loadtest.mix weights operations, and the report lists both the
+ * operation counts and the resulting per-endpoint request counts.
+ */
+enum Operation {
+    // POST /auth/login (BCrypt on the server)
+    LOGIN(1),
+    // GET /auth/me, /api/transactions/categories, /api/transactions/monthly?range=1, /api/budgets/status
+    DASHBOARD(4),
+    // GET /api/transactions?limit=50 and /api/budgets
+    LIST(2),
+    // POST /api/transactions
+    CREATE(1),
+    // DELETE /api/transactions/{id} of a row this virtual user created earlier
+    DELETE(1);
+
+    private final int requests;
+
+    Operation(int requests) {
+        this.requests = requests;
+    }
+
+    int requests() {
+        return requests;
+    }
+}
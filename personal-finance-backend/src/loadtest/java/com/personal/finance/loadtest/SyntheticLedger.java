@@ -0,0 +1,122 @@
+package com.personal.finance.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Household-shaped synthetic transactions. Categories are skewed (groceries and dining dominate, rent is
+ * rare but large), amounts are log-normal around a per-category median, descriptions repeat a small set of
+ * merchants per category, and weekends are busier than weekdays. Rows are JSON-ready maps in the shape
+ * the transaction endpoints accept.
+ */
+final class SyntheticLedger {
+
+    private record Spend(String category, double weight, double medianAmount, double sigma, String... merchants) {
+    }
+
+    private static final List<Spend> SPENDS = List.of(
+            new Spend("Groceries", 22, 45, 0.6, "Lidl", "Aldi", "Tesco", "Whole Foods", "Corner Market"),
+            new Spend("Dining", 16, 22, 0.6, "Pizza Place", "Sushi Bar", "Cafe Central", "Burger Joint", "Thai Kitchen"),
+            new Spend("Transport", 14, 12, 0.7, "Metro Card", "Uber", "Shell Station", "City Parking", "Train Ticket"),
+            new Spend("Shopping", 12, 40, 0.9, "Amazon", "Zara", "IKEA", "Decathlon", "Bookshop"),
+            new Spend("Entertainment", 8, 25, 0.7, "Cinema", "Concert Tickets", "Bowling", "Steam", "Museum"),
+            new Spend("Subscriptions", 7, 12, 0.5, "Netflix", "Spotify", "Gym Membership", "Cloud Storage", "News"),
+            new Spend("Utilities", 6, 90, 0.4, "Electricity", "Water", "Gas", "Internet", "Phone Bill"),
+            new Spend("Health", 5, 35, 0.8, "Pharmacy", "Dentist", "Optician", "Physio", "Clinic"),
+            new Spend("Travel", 3, 250, 0.9, "Airline", "Hotel", "Car Rental", "Hostel", "Ferry"),
+            new Spend("Rent", 2, 1200, 0.15, "Monthly Rent"));
+
+    private static final double TOTAL_WEIGHT = SPENDS.stream().mapToDouble(Spend::weight).sum();
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.50");
+
+    private final LocalDate today;
+    private final int historyDays;
+
+    SyntheticLedger(LocalDate today, int historyDays) {
+        this.today = today;
+        this.historyDays = Math.max(historyDays, 1);
+    }
+
+    Map<String, Object> transaction(SplittableRandom random) {
+        Spend spend = pickSpend(random);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("description", spend.merchants()[random.nextInt(spend.merchants().length)]);
+        row.put("amount", amount(spend, random));
+        row.put("date", date(random).toString());
+        row.put("category", spend.category());
+        return row;
+    }
+
+    List<Map<String, Object>> transactions(int count, SplittableRandom random) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(transaction(random));
+        }
+        return rows;
+    }
+
+    /**
+     * Budgets on the {@code count} most frequent categories, each set between 80% and 130% of the category's
+     * expected monthly spend for a ledger of {@code transactions} rows, so some run over and some do not.
+     */
+    List<Map<String, Object>> budgets(int count, int transactions, SplittableRandom random) {
+        double months = historyDays / 30.4;
+        List<Map<String, Object>> budgets = new ArrayList<>();
+        for (Spend spend : SPENDS.subList(0, Math.min(count, SPENDS.size()))) {
+            double monthlyRows = transactions * spend.weight() / TOTAL_WEIGHT / months;
+            double expectedMean = spend.medianAmount() * Math.exp(spend.sigma() * spend.sigma() / 2);
+            double limit = monthlyRows * expectedMean * (0.8 + 0.5 * random.nextDouble());
+            Map<String, Object> budget = new LinkedHashMap<>();
+            budget.put("category", spend.category());
+            budget.put("limitAmount", BigDecimal.valueOf(Math.max(Math.round(limit / 10.0) * 10, 10)));
+            budgets.add(budget);
+        }
+        return budgets;
+    }
+
+    static int categoryCount() {
+        return SPENDS.size();
+    }
+
+    private static Spend pickSpend(SplittableRandom random) {
+        double target = random.nextDouble() * TOTAL_WEIGHT;
+        for (Spend spend : SPENDS) {
+            target -= spend.weight();
+            if (target < 0) {
+                return spend;
+            }
+        }
+        return SPENDS.get(SPENDS.size() - 1);
+    }
+
+    private static BigDecimal amount(Spend spend, SplittableRandom random) {
+        double value = spend.medianAmount() * Math.exp(spend.sigma() * gaussian(random));
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).max(MIN_AMOUNT);
+    }
+
+    // Uniform over the history window, with weekdays accepted at 3/4 the rate of weekend days
+    private LocalDate date(SplittableRandom random) {
+        while (true) {
+            LocalDate date = today.minusDays(random.nextInt(historyDays));
+            DayOfWeek day = date.getDayOfWeek();
+            boolean weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+            if (weekend || random.nextDouble() < 0.75) {
+                return date;
+            }
+        }
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.personal.finance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Enforces the connection pool sizing limits on the Hikari data source. This matters most in virtual-thread
+ * mode: Tomcat no longer caps concurrency, so the pool is the only limit on concurrent database work.
+ */
+@Component
+public class DataSourcePoolGuard implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger LOGGER = Logger.getLogger(DataSourcePoolGuard.class.getName());
+
+    private int maxSizeCeiling = 32;
+    private long maxConnectionTimeoutMillis = 5000;
+    private boolean virtualThreads;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        maxSizeCeiling = environment.getProperty("datasource.pool.max-size-ceiling", Integer.class, maxSizeCeiling);
+        maxConnectionTimeoutMillis = environment.getProperty("datasource.pool.max-connection-timeout-ms", Long.class,
+                maxConnectionTimeoutMillis);
+        virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            if (dataSource.getMaximumPoolSize() > maxSizeCeiling) {
+                throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size="
+                        + dataSource.getMaximumPoolSize() + " exceeds datasource.pool.max-size-ceiling=" + maxSizeCeiling);
+            }
+            if (dataSource.getConnectionTimeout() > maxConnectionTimeoutMillis) {
+                LOGGER.warning("Capping Hikari connection-timeout from " + dataSource.getConnectionTimeout()
+                        + "ms to " + maxConnectionTimeoutMillis + "ms");
+                dataSource.setConnectionTimeout(maxConnectionTimeoutMillis);
+            }
+            if (virtualThreads && Runtime.version().feature() < 21) {
+                LOGGER.warning("spring.threads.virtual.enabled is set but Java " + Runtime.version().feature()
+                        + " has no virtual threads; using platform threads");
+            }
+        }
+        return bean;
+    }
+}
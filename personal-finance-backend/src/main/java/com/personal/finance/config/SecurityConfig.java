@@ -1,17 +1,26 @@
 package com.personal.finance.config;
 
 import com.personal.finance.security.JwtAuthenticationFilter;
+import com.personal.finance.security.ratelimit.RateLimitFilter;
+import com.personal.finance.security.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import com.personal.finance.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -25,13 +34,18 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailsService customUserDetailsService;
 
+    // Scrapers cannot log in, so /actuator/prometheus is limited to these addresses or CIDR ranges
+    @Value("${management.prometheus.allowed-addresses:127.0.0.1/32,::1/128}")
+    private List<String> prometheusAllowedAddresses;
+
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, CustomUserDetailsService customUserDetailsService) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.customUserDetailsService = customUserDetailsService;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider,
+                                                   RateLimitFilter rateLimitFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) // Disable CSRF for API endpoints
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS for frontend-backend communication
@@ -39,6 +53,10 @@ public class SecurityConfig {
                 // ✅ Public access for login & register
                 .requestMatchers("/", "/favicon.ico", "/auth/register", "/auth/login").permitAll()
 
+                // ✅ Health is public; the Prometheus scrape is unauthenticated but only from allowed addresses
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus").access(fromAddresses(prometheusAllowedAddresses))
+
                 // ✅ Authenticated users can access transactions
                 .requestMatchers(HttpMethod.GET, "/api/transactions/**").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/transactions/**").hasRole("USER")
@@ -49,18 +67,45 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/api/budgets/**").hasRole("USER")
                 .requestMatchers(HttpMethod.DELETE, "/api/budgets/**").hasRole("USER")
 
+                // ✅ Recurring transaction rules
+                .requestMatchers(HttpMethod.GET, "/api/recurring/**").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/recurring/**").hasRole("USER")
+                .requestMatchers(HttpMethod.DELETE, "/api/recurring/**").hasRole("USER")
+
                 // ✅ Default: Protect all other endpoints
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider()) // Use custom authentication provider
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Add JWT filter before UsernamePasswordAuthenticationFilter
+            .authenticationProvider(authenticationProvider) // Use custom authentication provider
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter before UsernamePasswordAuthenticationFilter
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class); // ✅ Rate limit once the user id is known
 
         return http.build();
     }
 
+    // Grants access when the client address matches one of the ranges (the socket peer, not X-Forwarded-For)
+    private static AuthorizationManager<RequestAuthorizationContext> fromAddresses(List<String> addresses) {
+        List<IpAddressMatcher> matchers = addresses.stream().map(String::trim).map(IpAddressMatcher::new).toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimitProperties, meterRegistry);
+    }
+
+    // Runs inside the security chain only, not a second time as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Raising the strength is picked up on each user's next login (PasswordHashingService.needsRehash)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -69,10 +114,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -1,14 +1,20 @@
 package com.personal.finance.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import com.personal.finance.service.PasswordHashingBusyException;
 import com.personal.finance.service.UserService;
 import com.personal.finance.service.TokenBlacklistService;
-import com.personal.finance.repository.UserRepository;
+import com.personal.finance.security.AuthenticatedUser;
 import com.personal.finance.util.JwtUtil;
-import com.personal.finance.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import com.personal.finance.dto.RegisterRequest;
 import com.personal.finance.dto.LoginRequest;
 
@@ -18,17 +24,16 @@ import java.util.Map;
 @RequestMapping("/auth")
 public class AuthController {
 
-    @Autowired
-    private UserService userService;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthController.class);
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private UserService userService;
 
     @Autowired
-    private UserRepository userRepository;
+    private TokenBlacklistService tokenBlacklistService;
 
     @Autowired
-    private TokenBlacklistService tokenBlacklistService;
+    private JwtUtil jwtUtil;
 
     /**
      * User Registration
@@ -37,10 +42,12 @@ public class AuthController {
     public ResponseEntity<String> register(@RequestBody RegisterRequest request) {
         try {
             userService.register(request);
-            System.out.println("User registered successfully: " + request.getUsername());
+            LOGGER.info("User registered: {}", request.getUsername());
             return ResponseEntity.ok("User registered successfully!");
+        } catch (PasswordHashingBusyException e) {
+            return busy().body("Registration is busy, please retry shortly");
         } catch (Exception e) {
-            System.err.println("Registration failed for user: " + request.getUsername() + " - " + e.getMessage());
+            LOGGER.warn("Registration failed for user {}: {}", request.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Registration failed: " + e.getMessage());
         }
     }
@@ -52,10 +59,12 @@ public class AuthController {
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
             String token = userService.login(loginRequest);
-            System.out.println("Login successful for user: " + loginRequest.getUsername());
+            LOGGER.debug("Login successful for user {}", loginRequest.getUsername());
             return ResponseEntity.ok(Map.of("token", token));
+        } catch (PasswordHashingBusyException e) {
+            return busy().body(Map.of("message", "Login is busy, please retry shortly"));
         } catch (Exception e) {
-            System.err.println("Login failed for user: " + loginRequest.getUsername() + " - " + e.getMessage());
+            LOGGER.info("Login failed for user {}: {}", loginRequest.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid username or password"));
         }
     }
@@ -64,30 +73,24 @@ public class AuthController {
      * Get the currently authenticated user
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader(value = "Authorization", required = false) String token) {
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            // Check if token is missing
-            if (token == null || !token.startsWith("Bearer ")) {
-                System.err.println("[AUTH ERROR] Missing or invalid Authorization header.");
+            // Principal is resolved by the JWT filter; missing only if the request was not authenticated
+            if (user == null) {
+                LOGGER.debug("No authenticated principal for /auth/me");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Authorization header is missing or invalid."));
             }
 
-            // Extract username from JWT
-            String username = jwtUtil.extractUsername(token.substring(7)); // Remove "Bearer " prefix
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             // Return only safe user data (avoid exposing passwords or unnecessary fields)
             Map<String, Object> userData = Map.of(
-                "id", user.getId(),
-                "username", user.getUsername(),
-                "email", user.getEmail()
+                "id", user.id(),
+                "username", user.username(),
+                "email", user.email()
             );
 
-            System.out.println("[AUTH SUCCESS] User authenticated: " + username);
             return ResponseEntity.ok(userData);
         } catch (Exception e) {
-            System.err.println("[AUTH ERROR] Token validation failed: " + e.getMessage());
+            LOGGER.debug("Could not resolve current user: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid or expired token."));
         }
     }
@@ -103,9 +106,20 @@ public class AuthController {
         }
 
         String actualToken = token.substring(7).trim(); // Remove "Bearer " prefix
-        tokenBlacklistService.blacklistToken(actualToken);
+        try {
+            Claims claims = jwtUtil.extractClaims(actualToken);
+            tokenBlacklistService.revoke(jwtUtil.tokenId(actualToken, claims), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired tokens are already unusable; nothing to revoke
+        }
         
-        System.out.println("User logged out, token blacklisted.");
+        LOGGER.debug("User logged out, token revoked");
         return ResponseEntity.ok("Logged out successfully!");
     }
+
+    // ✅ Hashing pool saturated: shed the request instead of queueing it behind the storm
+    private ResponseEntity.BodyBuilder busy() {
+        LOGGER.debug("Password hashing saturated, rejecting auth request");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1");
+    }
 }
@@ -1,18 +1,29 @@
 package com.personal.finance.controller;
 
+import com.personal.finance.dto.BudgetStatus;
+import com.personal.finance.dto.BudgetView;
 import com.personal.finance.model.Budget;
-import com.personal.finance.model.User;
+import com.personal.finance.model.Category;
 import com.personal.finance.repository.BudgetRepository;
 import com.personal.finance.repository.UserRepository;
-import com.personal.finance.util.JwtUtil;
+import com.personal.finance.security.AuthenticatedUser;
+import com.personal.finance.service.BudgetStatusService;
+import com.personal.finance.service.CategoryDictionary;
+import com.personal.finance.service.DataVersionService;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -26,47 +37,78 @@ public class BudgetController {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private BudgetStatusService budgetStatusService;
 
-    // ✅ Get all budgets for the logged-in user
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private CategoryDictionary categories;
+
+    // Clients may keep responses but must revalidate them (If-None-Match) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // ✅ Get all budgets for the logged-in user (304 while the user's data version is unchanged)
     @GetMapping
-    public ResponseEntity<List<Budget>> getBudgets(@RequestHeader("Authorization") String token) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<List<BudgetView>> getBudgets(@AuthenticationPrincipal AuthenticatedUser user, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(user.id()))) {
+            return null;
+        }
+        List<BudgetView> budgets = budgetStatusService.budgetsFor(user.id());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(budgets);
+    }
 
-        List<Budget> budgets = budgetRepository.findByUser(user);
-        return ResponseEntity.ok(budgets);
+    // ✅ Spent, remaining and percent used per budget for a month (yyyy-MM, defaults to the current month)
+    @GetMapping("/status")
+    public ResponseEntity<?> getBudgetStatus(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "month", required = false) String month,
+            WebRequest webRequest) {
+        YearMonth period;
+        try {
+            period = month != null ? YearMonth.parse(month) : YearMonth.now();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "month must be formatted as yyyy-MM"));
+        }
+        if (webRequest.checkNotModified(dataVersions.etag(user.id(), period))) {
+            return null;
+        }
+
+        List<BudgetStatus> statuses = budgetStatusService.statusFor(user.id(), period);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(statuses);
     }
 
-    // ✅ Set or update a budget for a category
+    // ✅ Set or update a budget for a category; answers with the same view GET returns, never the entity
     @PostMapping
-    public ResponseEntity<Budget> setBudget(
-            @RequestHeader("Authorization") String token, 
+    public ResponseEntity<BudgetView> setBudget(
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody Budget budgetRequest) {
-        
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Optional<Budget> existingBudget = budgetRepository.findByUserAndCategory(user, budgetRequest.getCategory());
+        Category category = categories.reference(user.id(), budgetRequest.getCategory());
+        Optional<Budget> existingBudget = budgetRepository.findByUserIdAndCategoryId(user.id(), category.getId());
 
         Budget budget = existingBudget.orElse(new Budget());
-        budget.setUser(user);
+        budget.setUser(userRepository.getReferenceById(user.id()));
+        budget.setCategoryRef(category);
         budget.setCategory(budgetRequest.getCategory());
         budget.setLimitAmount(budgetRequest.getLimitAmount());
 
-        return ResponseEntity.ok(budgetRepository.save(budget));
+        Budget saved = budgetRepository.save(budget);
+        dataVersions.bump(user.id());
+        return ResponseEntity.ok(new BudgetView(saved.getId(), saved.getCategory(), saved.getLimitAmount()));
     }
 
     // ✅ Delete a budget
     @DeleteMapping("/{category}")
-    public ResponseEntity<?> deleteBudget(@RequestHeader("Authorization") String token, @PathVariable String category) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        budgetRepository.deleteByUserAndCategory(user, category);
+    public ResponseEntity<?> deleteBudget(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable String category) {
+        // ✅ Unknown names have no budget: nothing to delete
+        int deleted = categories.find(user.id(), category)
+                .map(categoryId -> budgetRepository.deleteByUserIdAndCategoryId(user.id(), categoryId))
+                .orElse(0);
+        // ✅ Cached views stay valid when nothing was removed
+        if (deleted > 0) {
+            dataVersions.bump(user.id());
+        }
         return ResponseEntity.ok("Budget deleted successfully");
     }
 }
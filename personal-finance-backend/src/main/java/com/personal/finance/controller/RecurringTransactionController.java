@@ -0,0 +1,48 @@
+package com.personal.finance.controller;
+
+import com.personal.finance.model.RecurringTransaction;
+import com.personal.finance.security.AuthenticatedUser;
+import com.personal.finance.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/recurring")
+public class RecurringTransactionController {
+
+    @Autowired
+    private RecurringTransactionService recurringService;
+
+    // ✅ Rules of the logged-in user with their next occurrence
+    @GetMapping
+    public ResponseEntity<List<RecurringTransaction>> getRules(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(recurringService.findAll(user.id()));
+    }
+
+    // ✅ Occurrences are inserted by the background job, including any already due since startDate
+    @PostMapping
+    public ResponseEntity<?> createRule(@AuthenticationPrincipal AuthenticatedUser user,
+                                        @Valid @RequestBody RecurringTransaction rule) {
+        try {
+            return ResponseEntity.ok(recurringService.create(user.id(), rule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Stops future occurrences; rows already materialized stay in the ledger
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRule(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable Long id) {
+        if (!recurringService.delete(user.id(), id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Recurring transaction not found");
+        }
+        return ResponseEntity.ok("Recurring transaction deleted successfully");
+    }
+}
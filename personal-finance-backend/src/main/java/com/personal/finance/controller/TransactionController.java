@@ -1,24 +1,51 @@
 package com.personal.finance.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.finance.dto.BatchResult;
+import com.personal.finance.dto.LedgerFilter;
+import com.personal.finance.dto.TransactionCursor;
+import com.personal.finance.dto.TransactionPage;
+import com.personal.finance.dto.TransactionSearch;
+import com.personal.finance.dto.TransactionSortField;
+import com.personal.finance.dto.TransactionView;
 import com.personal.finance.model.Transaction;
-import com.personal.finance.model.User;
 import com.personal.finance.repository.TransactionRepository;
 import com.personal.finance.repository.UserRepository;
-import com.personal.finance.util.JwtUtil;
+import com.personal.finance.service.DataVersionService;
+import com.personal.finance.service.LedgerStreamService;
+import com.personal.finance.service.TransactionBatchService;
+import com.personal.finance.service.TransactionImportService;
+import com.personal.finance.service.TransactionSearchService;
+import com.personal.finance.service.importer.CsvTransactionReader;
+import com.personal.finance.service.importer.OfxTransactionReader;
+import com.personal.finance.service.importer.TransactionRowReader;
+import com.personal.finance.service.TransactionService;
+import com.personal.finance.service.TransactionSummaryService;
+import com.personal.finance.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
-import java.time.Year;
-import java.time.format.DateTimeFormatter;
 import java.time.LocalDate;
-import java.util.*;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -31,94 +58,284 @@ public class TransactionController {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private TransactionService transactionService;
 
+    @Autowired
+    private TransactionSummaryService summaryService;
+
+    @Autowired
+    private LedgerStreamService ledgerStreamService;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @Autowired
+    private TransactionBatchService batchService;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${transactions.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${transactions.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${transactions.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Clients may keep responses but must revalidate them (If-None-Match) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // ✅ Without paging parameters the full list is returned for existing clients;
+    //    pass `limit` and/or `cursor` to walk the ledger page by page (newest first)
+    // ✅ ETag from the user's data version: an unchanged ledger answers 304 without querying it
     @GetMapping
-    public List<Transaction> getUserTransactions(@RequestHeader("Authorization") String token) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return transactionRepository.findByUserId(user.getId());
+    public ResponseEntity<?> getUserTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(user.id()))) {
+            return null;
+        }
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchService.list(user.id()));
+        }
+
+        int pageSize = Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+        TransactionCursor position = null;
+        if (cursor != null) {
+            try {
+                position = TransactionCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
+            }
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(searchService.page(user.id(), pageSize, position));
+    }
+
+    // ✅ Server-side search: optional date range, categories, amount bounds and description text,
+    //    sorted by date/amount/description/category, paged with an opaque `cursor`
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "category", required = false) List<String> categories,
+            @RequestParam(value = "minAmount", required = false) BigDecimal minAmount,
+            @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount,
+            @RequestParam(value = "q", required = false) String text,
+            @RequestParam(value = "sort", defaultValue = "date") String sort,
+            @RequestParam(value = "order", defaultValue = "desc") String order,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(user.id()))) {
+            return null;
+        }
+        int pageSize = Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+        try {
+            TransactionSearch search = new TransactionSearch(from, to, categories, minAmount, maxAmount, text);
+            TransactionPage page = searchService.search(user.id(), search, TransactionSortField.parse(sort),
+                    "asc".equalsIgnoreCase(order), pageSize, cursor);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ✅ Free-text description search (in-memory index): ?q=amaz finds "Amazon", fuzzy=true tolerates typos
+    @GetMapping("/search/text")
+    public ResponseEntity<List<TransactionView>> searchTransactionText(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam("q") String query,
+            @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(user.id()))) {
+            return null;
+        }
+        int pageSize = Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+                .body(searchService.searchText(user.id(), query, fuzzy, pageSize));
+    }
+
+    // ✅ Opt-in streaming mode (?stream=true): one JSON object per line, constant memory
+    @GetMapping(params = "stream=true", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUserTransactions(@AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = user.id();
+        return ResponseEntity.ok(out -> ledgerStreamService.writeNdjson(userId, out));
+    }
+
+    // ✅ Full-ledger export for accountants: CSV or NDJSON, optional date/category filters and gzip;
+    //    any other format is a 400, as on import
+    // ✅ Declared as StreamingResponseBody so Spring streams it asynchronously; the 400 body is streamed too
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "category", required = false) List<String> categories,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) throws JsonProcessingException {
+        LedgerStreamService.Format exportFormat = switch (format.toLowerCase()) {
+            case "csv" -> LedgerStreamService.Format.CSV;
+            case "ndjson" -> LedgerStreamService.Format.NDJSON;
+            default -> null;
+        };
+        if (exportFormat == null) {
+            byte[] error = objectMapper.writeValueAsBytes(Map.of("error", "Unsupported export format: " + format));
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(error));
+        }
+        String extension = exportFormat == LedgerStreamService.Format.CSV ? "csv" : "ndjson";
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(exportFormat == LedgerStreamService.Format.CSV ? "text/csv" : "application/x-ndjson");
+
+        Long userId = user.id();
+        LedgerFilter filter = new LedgerFilter(from, to, categories);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + extension + (gzip ? ".gz" : "") + "\"")
+                .body(out -> ledgerStreamService.export(userId, filter, exportFormat, gzip, out));
     }
 
     @PostMapping
     public ResponseEntity<Transaction> createTransaction(
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody Transaction transaction
     ) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        transaction.setUser(user);
-        return ResponseEntity.ok(transactionRepository.save(transaction));
+        // ✅ Reference only: the FK is set without loading the users row
+        return ResponseEntity.ok(transactionService.create(userRepository.getReferenceById(user.id()), transaction));
+    }
+
+    // ✅ Batch create: all items are validated first and written in one transaction as a batched insert,
+    //    or none are (400 with the per-item errors)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<Transaction> transactions) {
+        if (transactions.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + maxBatchSize + " items per batch"));
+        }
+        BatchResult result = batchService.create(user.id(), transactions);
+        return result.applied() || transactions.isEmpty()
+                ? ResponseEntity.ok(result)
+                : ResponseEntity.badRequest().body(result);
+    }
+
+    // ✅ Batch delete by id: one DELETE ... WHERE user_id = ? AND id IN (...); ids that are missing or
+    //    not the caller's come back as NOT_FOUND
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + maxBatchSize + " ids per batch"));
+        }
+        if (ids.contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "ids must not be null"));
+        }
+        return ResponseEntity.ok(batchService.delete(user.id(), ids));
     }
 
-    // ✅ FIXED: Convert BigDecimal to double
+    // ✅ Bulk import streamed from the request body: CSV (header: date,description,amount[,category]) or OFX
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ofx", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importTransactions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "defaultCategory", defaultValue = "Uncategorized") String defaultCategory,
+            InputStream body) throws IOException {
+        return runImport(user, format, defaultCategory, body);
+    }
+
+    // ✅ Same import as a multipart upload (form field "file")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importTransactionFile(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "defaultCategory", defaultValue = "Uncategorized") String defaultCategory,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return runImport(user, format, defaultCategory, in);
+        }
+    }
+
+    private ResponseEntity<?> runImport(AuthenticatedUser user, String format, String defaultCategory, InputStream in)
+            throws IOException {
+        InputStreamReader text = new InputStreamReader(in, StandardCharsets.UTF_8);
+        TransactionRowReader reader;
+        try {
+            reader = switch (format.toLowerCase()) {
+                case "csv" -> new CsvTransactionReader(text, defaultCategory);
+                case "ofx" -> new OfxTransactionReader(text, defaultCategory);
+                default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+            };
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        try (reader) {
+            return ResponseEntity.ok(importService.importTransactions(user.id(), reader));
+        }
+    }
+
+    // ✅ Served from the monthly rollup table instead of the full ledger
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, Double>> getTransactionsByCategory(@RequestHeader("Authorization") String token) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Fetch transactions and group by category
-        List<Transaction> transactions = transactionRepository.findByUserId(user.getId());
-        Map<String, Double> categoryTotals = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(t -> t.getAmount().doubleValue()) // ✅ FIXED: Convert BigDecimal to double
-                ));
-
-        return ResponseEntity.ok(categoryTotals);
+    public ResponseEntity<Map<String, BigDecimal>> getTransactionsByCategory(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                             WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersions.etag(user.id()))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(summaryService.totalsByCategory(user.id()));
     }
 
     @GetMapping("/monthly")
-    public ResponseEntity<Map<String, Double>> getMonthlyExpenses(
-            @RequestHeader("Authorization") String token,
-            @RequestParam("range") String range) {
-
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<Map<String, BigDecimal>> getMonthlyExpenses(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam("range") String range,
+            WebRequest webRequest) {
 
         LocalDate endDate = LocalDate.now();
+        // The window ends today, so the date is part of the validator
+        if (webRequest.checkNotModified(dataVersions.etag(user.id(), endDate))) {
+            return null;
+        }
         LocalDate startDate;
 
         if ("all".equals(range)) {
-            startDate = transactionRepository.findEarliestTransactionDate(user.getId())
+            startDate = summaryService.earliestTransactionDate(user.id())
                                         .orElse(LocalDate.now().minusYears(20)); // ✅ Default to 20 years ago if no transactions found
         } else {
             int years = Integer.parseInt(range);
             startDate = endDate.minusYears(years);
         }
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(user.getId(), startDate, endDate);
-
-        Map<String, Double> expenses = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getDate().format(DateTimeFormatter.ofPattern("yyyy-MMMM")),
-                        TreeMap::new, // ✅ Sorted order
-                        Collectors.summingDouble(t -> t.getAmount().doubleValue()) // ✅ FIXED: Convert BigDecimal to double
-                ));
-
-        return ResponseEntity.ok(expenses);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(summaryService.monthlyTotals(user.id(), startDate, endDate));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTransaction(
-                @RequestHeader("Authorization") String token,
+                @AuthenticationPrincipal AuthenticatedUser user,
                 @PathVariable Long id) {
-        String username = jwtUtil.extractUsername(token.substring(7));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
+        if (!transaction.getUser().getId().equals(user.id())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Unauthorized: You can only delete your own transactions.");
         }
 
-        transactionRepository.delete(transaction);
+        transactionService.delete(transaction);
         return ResponseEntity.ok().body("Transaction deleted successfully.");
         }
 
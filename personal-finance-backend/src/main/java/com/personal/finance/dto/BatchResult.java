@@ -0,0 +1,20 @@
+package com.personal.finance.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch create or delete, one entry per request item in request order.
+ * {@code applied} is false when nothing was written (creates are all-or-nothing).
+ */
+public record BatchResult(
+        boolean applied,
+        int succeeded,
+        int failed,
+        List<Item> items
+) {
+
+    public enum Status { CREATED, DELETED, INVALID, NOT_FOUND, NOT_APPLIED }
+
+    public record Item(int index, Long id, Status status, String error) {
+    }
+}
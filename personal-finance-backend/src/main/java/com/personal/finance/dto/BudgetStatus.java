@@ -0,0 +1,19 @@
+package com.personal.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spend against one budget for a period. {@code remaining} is negative when the budget is exceeded;
+ * {@code percentUsed} is null for a zero limit.
+ */
+public record BudgetStatus(
+        String category,
+        BigDecimal limitAmount,
+        BigDecimal spent,
+        BigDecimal remaining,
+        BigDecimal percentUsed,
+        LocalDate periodStart,
+        LocalDate periodEnd
+) {
+}
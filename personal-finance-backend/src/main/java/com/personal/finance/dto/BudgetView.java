@@ -0,0 +1,11 @@
+package com.personal.finance.dto;
+
+import java.math.BigDecimal;
+
+// Read model of a budget as returned by GET /api/budgets
+public record BudgetView(
+        Long id,
+        String category,
+        BigDecimal limitAmount
+) {
+}
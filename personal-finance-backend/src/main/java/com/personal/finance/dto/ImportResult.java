@@ -0,0 +1,18 @@
+package com.personal.finance.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} is capped; {@code rejected} always holds the full count.
+ */
+public record ImportResult(
+        long imported,
+        long rejected,
+        List<RowError> errors,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.personal.finance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional export filters; null bounds and an empty category list mean "no restriction".
+ */
+public record LedgerFilter(LocalDate from, LocalDate to, List<String> categories) {
+
+    // Widest range a Postgres date column can hold without special casing
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    public LocalDate fromOrEarliest() {
+        return from != null ? from : EARLIEST;
+    }
+
+    public LocalDate toOrLatest() {
+        return to != null ? to : LATEST;
+    }
+
+    public boolean hasCategories() {
+        return categories != null && !categories.isEmpty();
+    }
+}
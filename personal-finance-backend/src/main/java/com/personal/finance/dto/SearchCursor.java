@@ -0,0 +1,36 @@
+package com.personal.finance.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a sorted search: the sort column, its value in the last row seen, and that row's id.
+ */
+public record SearchCursor(TransactionSortField field, String value, Long id) {
+
+    public String encode() {
+        // Value last: descriptions may contain the separator
+        String raw = field.name() + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            TransactionSortField field = TransactionSortField.valueOf(parts[0]);
+            field.parseValue(parts[2]);
+            return new SearchCursor(field, parts[2], Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public Comparable<?> typedValue() {
+        return field.parseValue(value);
+    }
+}
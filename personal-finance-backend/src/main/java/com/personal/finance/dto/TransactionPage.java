@@ -0,0 +1,10 @@
+package com.personal.finance.dto;
+
+
+import java.util.List;
+
+/**
+ * One page of a user's ledger. {@code nextCursor} is null on the last page.
+ */
+public record TransactionPage(List<TransactionView> items, String nextCursor) {
+}
@@ -0,0 +1,34 @@
+package com.personal.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Search predicates; every field is optional and the ones present are combined with AND.
+ * {@code text} matches a case-insensitive substring of the description.
+ */
+public record TransactionSearch(
+        LocalDate from,
+        LocalDate to,
+        List<String> categories,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        String text
+) {
+
+    public TransactionSearch {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        text = text != null && !text.isBlank() ? text.trim() : null;
+        categories = categories != null ? List.copyOf(categories) : List.of();
+    }
+
+    public boolean hasCategories() {
+        return !categories.isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package com.personal.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Columns a search can be ordered by. Ties are broken by id, so (field, id) is a unique keyset position.
+ */
+public enum TransactionSortField {
+
+    DATE("date"),
+    AMOUNT("amount"),
+    DESCRIPTION("description"),
+    CATEGORY("categoryRef.name");
+
+    private final String attribute;
+
+    TransactionSortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    // Property path, dotted when the column lives on an associated entity
+    public String attribute() {
+        return attribute;
+    }
+
+    public static TransactionSortField parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sort must be one of date, amount, description, category");
+        }
+    }
+
+    // Value of this column from a cursor, typed for comparison in the query
+    public Comparable<?> parseValue(String raw) {
+        return switch (this) {
+            case DATE -> LocalDate.parse(raw);
+            case AMOUNT -> new BigDecimal(raw);
+            case DESCRIPTION, CATEGORY -> raw;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.personal.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read model of a ledger row: the columns the API returns, selected directly into a record. No managed entity,
+ * no user row and no dirty checking behind it.
+ */
+public record TransactionView(
+        Long id,
+        String description,
+        BigDecimal amount,
+        LocalDate date,
+        String category
+) {
+}
@@ -0,0 +1,81 @@
+package com.personal.finance.logging;
+
+import com.personal.finance.metrics.QueryBudgetFilter;
+import com.personal.finance.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Emits one structured event per request: correlation id, method, path, status, latency, user id and
+ * SQL statement count. Failed and slow requests are always logged; successful ones are sampled.
+ * Headers, query strings and tokens are never written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("http.requests");
+    private static final Pattern SAFE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final double successSampleRate;
+    private final long slowThresholdMillis;
+
+    public RequestLoggingFilter(@Value("${logging.requests.success-sample-rate:1.0}") double successSampleRate,
+                                @Value("${logging.requests.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        this.successSampleRate = successSampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !SAFE_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(MDC_REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long latencyMillis = (System.nanoTime() - started) / 1_000_000;
+            int status = response.getStatus();
+            if (shouldLog(status, latencyMillis) && LOGGER.isInfoEnabled()) {
+                Object queries = request.getAttribute(QueryBudgetFilter.QUERY_COUNT_ATTRIBUTE);
+                String userId = MDC.get(JwtAuthenticationFilter.MDC_USER_ID);
+                LOGGER.info("method={} path={} status={} latencyMs={} queries={} userId={}",
+                        request.getMethod(), request.getRequestURI(), status, latencyMillis,
+                        queries != null ? queries : "-", userId != null ? userId : "-");
+            }
+            MDC.remove(JwtAuthenticationFilter.MDC_USER_ID);
+            MDC.remove(MDC_REQUEST_ID);
+        }
+    }
+
+    private boolean shouldLog(int status, long latencyMillis) {
+        if (status >= 400 || latencyMillis >= slowThresholdMillis) {
+            return true;
+        }
+        return successSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < successSampleRate;
+    }
+}
@@ -0,0 +1,77 @@
+package com.personal.finance.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, per route, and flags requests over budget.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    // Request attribute holding the final statement count, for outer filters such as request logging
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".queries";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxQueriesPerRequest;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry,
+                             @Value("${metrics.query-budget.max-per-request:10}") int maxQueriesPerRequest) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = QueryCounter.current();
+            QueryCounter.clear();
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, queries);
+            record(request, queries);
+        }
+    }
+
+    private void record(HttpServletRequest request, int queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements issued per request")
+                .tags("method", method, "uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(queries);
+
+        if (queries > maxQueriesPerRequest) {
+            Counter.builder("http.server.requests.query.budget.exceeded")
+                    .description("Requests that issued more SQL statements than metrics.query-budget.max-per-request")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            LOGGER.warn("{} {} issued {} queries (budget {})", method, uri, queries, maxQueriesPerRequest);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.personal.finance.metrics;
+
+/**
+ * Per-thread count of SQL statements prepared by Hibernate. Reset at the start of each request
+ * by {@link QueryBudgetFilter} and incremented by {@link QueryCountingStatementInspector}.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private QueryCounter() {
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    public static void clear() {
+        COUNT.remove();
+    }
+}
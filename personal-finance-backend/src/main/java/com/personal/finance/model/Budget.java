@@ -1,7 +1,9 @@
 package com.personal.finance.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
@@ -13,9 +15,18 @@ public class Budget {
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
     private User user;
 
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "category_id")
+    @JsonIgnore
+    private Category categoryRef;
+
+    // Name as sent by clients (JSON "category"); resolved to categoryRef before saving
+    @Transient
     @NotNull
+    @Size(min = 1, max = 50)
     private String category;
 
     @NotNull
@@ -38,13 +49,22 @@ public class Budget {
     }
 
     public String getCategory() {
-        return category;
+        return category != null ? category : categoryRef != null ? categoryRef.getName() : null;
     }
 
     public void setCategory(String category) {
         this.category = category;
     }
 
+    @JsonIgnore
+    public Category getCategoryRef() {
+        return categoryRef;
+    }
+
+    public void setCategoryRef(Category categoryRef) {
+        this.categoryRef = categoryRef;
+    }
+
     public BigDecimal getLimitAmount() {
         return limitAmount;
     }
@@ -0,0 +1,50 @@
+package com.personal.finance.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A user's category name, referenced by transactions, budgets and rollups through its integer id.
+ * Rows are only ever added; names are resolved through {@code CategoryDictionary}.
+ */
+@Entity
+@Table(
+        name = "category",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_user_name", columnNames = {"user_id", "name"})
+)
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    // Getters and setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,91 @@
+package com.personal.finance.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated spend of one user for one category in one calendar month.
+ * Maintained alongside every transaction write so dashboard totals never scan the ledger.
+ */
+@Entity
+@Table(
+        name = "monthly_category_total",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_category_total_user_month_category_id",
+                columnNames = {"user_id", "month_start", "category_id"}
+        )
+)
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // First day of the month this row covers
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    // Category dictionary id; NOT NULL is set by post-schema.sql once legacy rows are gone
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.personal.finance.model;
+
+import java.time.LocalDate;
+
+/**
+ * Unit of a recurring rule's interval. Occurrences are always computed from the start date, so a rule that
+ * starts on the 31st lands on the last day of shorter months and returns to the 31st afterwards.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    // Date of the n-th occurrence (0-based) of a rule repeating every {@code interval} units from {@code start}
+    public LocalDate occurrence(LocalDate start, int interval, long n) {
+        long steps = Math.multiplyExact(n, interval);
+        return switch (this) {
+            case DAILY -> start.plusDays(steps);
+            case WEEKLY -> start.plusWeeks(steps);
+            case MONTHLY -> start.plusMonths(steps);
+            case YEARLY -> start.plusYears(steps);
+        };
+    }
+}
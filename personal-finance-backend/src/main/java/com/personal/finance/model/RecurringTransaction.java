@@ -0,0 +1,202 @@
+package com.personal.finance.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A transaction repeated every {@code interval} x {@code frequency} from {@code startDate} until {@code endDate}
+ * (inclusive, open-ended when null). {@code occurrenceCount} and {@code nextOccurrence} are the materialization
+ * checkpoint: they advance in the same database transaction that inserts the generated rows.
+ */
+@Entity
+@Table(name = "recurring_transaction", indexes = {
+        // Due-rule scan of the materialization job
+        @Index(name = "idx_recurring_transaction_next_run_at", columnList = "next_run_at"),
+        @Index(name = "idx_recurring_transaction_user", columnList = "user_id")
+})
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @NotNull
+    @Size(min = 1, max = 255)
+    private String description;
+
+    @NotNull
+    @Positive
+    private BigDecimal amount;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "category_id", nullable = false)
+    @JsonIgnore
+    private Category categoryRef;
+
+    // Name as sent by clients (JSON "category"); resolved to categoryRef when the rule is saved
+    @Transient
+    @NotNull
+    @Size(min = 1, max = 50)
+    private String category;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    @Positive
+    @Column(name = "interval_count", nullable = false)
+    private int interval = 1;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Occurrences already materialized; the next one is occurrence(occurrenceCount)
+    @Column(name = "occurrence_count", nullable = false)
+    @JsonIgnore
+    private long occurrenceCount;
+
+    // Date of the next occurrence to materialize; null once the rule has ended
+    @Column(name = "next_occurrence")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDate nextOccurrence;
+
+    // When the job may pick the rule up: the next occurrence's day plus a per-rule offset; null once ended
+    @Column(name = "next_run_at")
+    @JsonIgnore
+    private Instant nextRunAt;
+
+    // Date of the n-th occurrence (0-based)
+    public LocalDate occurrence(long n) {
+        return frequency.occurrence(startDate, interval, n);
+    }
+
+    public boolean isEnded(LocalDate occurrence) {
+        return endDate != null && occurrence.isAfter(endDate);
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCategory() {
+        return category != null ? category : categoryRef != null ? categoryRef.getName() : null;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    @JsonIgnore
+    public Category getCategoryRef() {
+        return categoryRef;
+    }
+
+    public void setCategoryRef(Category categoryRef) {
+        this.categoryRef = categoryRef;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    @JsonIgnore
+    public long getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(long occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    @JsonIgnore
+    public Instant getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(Instant nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+}
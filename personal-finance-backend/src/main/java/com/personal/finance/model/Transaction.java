@@ -11,10 +11,22 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
+@Table(uniqueConstraints = {
+        // One row per rule and date: the backstop that keeps recurring materialization idempotent
+        @UniqueConstraint(name = "uk_transaction_recurring_date", columnNames = {"recurring_id", "date"})
+}, indexes = {
+        // Trailing amount column lets per-user date and category sums run as index-only scans
+        @Index(name = "idx_transaction_user_date", columnList = "user_id, date, amount"),
+        @Index(name = "idx_transaction_user_category_id", columnList = "user_id, category_id, amount"),
+        // Amount-range filters and amount-ordered searches
+        @Index(name = "idx_transaction_user_amount", columnList = "user_id, amount")
+})
 public class Transaction {
 
+    // Pooled sequence (50 ids per round trip) so Hibernate can batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -28,8 +40,16 @@ public class Transaction {
     @NotNull
     private LocalDate date;
 
+    // Stored as an integer key; nullable only until post-schema.sql has migrated legacy rows
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "category_id")
+    @JsonIgnore
+    private Category categoryRef;
+
+    // Name as sent by clients (JSON "category"); resolved to categoryRef by TransactionService
+    @Transient
     @NotNull
-    @Size(max = 50)
+    @Size(min = 1, max = 50)
     private String category;
 
     @ManyToOne
@@ -37,6 +57,11 @@ public class Transaction {
     @JsonIgnore
     private User user;
 
+    // Rule that generated this row, if any; a plain id so deleting the rule keeps its history
+    @Column(name = "recurring_id")
+    @JsonIgnore
+    private Long recurringId;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -71,13 +96,22 @@ public class Transaction {
     }
 
     public String getCategory() {
-        return category;
+        return category != null ? category : categoryRef != null ? categoryRef.getName() : null;
     }
 
     public void setCategory(String category) {
         this.category = category;
     }
 
+    @JsonIgnore
+    public Category getCategoryRef() {
+        return categoryRef;
+    }
+
+    public void setCategoryRef(Category categoryRef) {
+        this.categoryRef = categoryRef;
+    }
+
     public User getUser() {
         return user;
     }
@@ -85,4 +119,13 @@ public class Transaction {
     public void setUser(User user) {
         this.user = user;
     }
+
+    @JsonIgnore
+    public Long getRecurringId() {
+        return recurringId;
+    }
+
+    public void setRecurringId(Long recurringId) {
+        this.recurringId = recurringId;
+    }
 }
@@ -4,8 +4,10 @@ import jakarta.persistence.*;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.personal.finance.service.UserCacheEvictionListener;
 
 @Entity
+@EntityListeners(UserCacheEvictionListener.class) // Keep cached principals in sync with user changes
 @Table(name = "users") // Map the entity to the "users" table
 public class User {
 
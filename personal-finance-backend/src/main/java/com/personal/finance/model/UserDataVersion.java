@@ -0,0 +1,36 @@
+package com.personal.finance.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Counter that advances on every write to a user's transactions or budgets; conditional GETs derive their ETag from it.
+ * Kept out of {@code users} so full-entity saves of a user can never overwrite a concurrent increment.
+ */
+@Entity
+@Table(name = "user_data_version")
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Getters and setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -1,16 +1,44 @@
 package com.personal.finance.repository;
 
+import com.personal.finance.dto.BudgetView;
 import com.personal.finance.model.Budget;
 import com.personal.finance.model.User;
+import com.personal.finance.repository.projection.BudgetSpend;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUser(User user);
-    Optional<Budget> findByUserAndCategory(User user, String category);
-    void deleteByUserAndCategory(User user, String category);
+
+    // ✅ Id-based variants: callers only need the authenticated user id, not a loaded User
+    // ✅ Read model only: three columns into BudgetView records, ordered by category name
+    @Query("SELECT new com.personal.finance.dto.BudgetView(b.id, c.name, b.limitAmount) " +
+           "FROM Budget b JOIN b.categoryRef c WHERE b.user.id = :userId ORDER BY c.name")
+    List<BudgetView> findByUserId(@Param("userId") Long userId);
+
+    // ✅ Categories are matched by dictionary id (see CategoryDictionary), never by name
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.categoryRef.id = :categoryId")
+    Optional<Budget> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Integer categoryId);
+
+    // ✅ Every budget of the user with its spend for one month, in a single aggregated query over the rollup table
+    @Query("SELECT c.name AS category, b.limitAmount AS limitAmount, COALESCE(SUM(r.total), 0) AS spent " +
+           "FROM Budget b JOIN b.categoryRef c LEFT JOIN MonthlyCategoryTotal r " +
+           "ON r.userId = b.user.id AND r.categoryId = c.id AND r.monthStart = :monthStart " +
+           "WHERE b.user.id = :userId GROUP BY b.id, c.name, b.limitAmount ORDER BY c.name")
+    List<BudgetSpend> findSpendByUserIdForMonth(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart);
+
+    // ✅ Returns the number of rows removed (0 or 1)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.user.id = :userId AND b.categoryRef.id = :categoryId")
+    int deleteByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Integer categoryId);
 }
@@ -0,0 +1,29 @@
+package com.personal.finance.repository;
+
+import com.personal.finance.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    List<Category> findByUserId(Long userId);
+
+    List<Category> findByUserIdAndNameIn(Long userId, Collection<String> names);
+
+    @Query("SELECT c.id FROM Category c WHERE c.userId = :userId AND c.name = :name")
+    Optional<Integer> findIdByUserIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    // ✅ Safe under concurrent first use of the same name: the unique (user_id, name) key decides the winner
+    @Modifying
+    @Query(value = "INSERT INTO category (user_id, name) VALUES (:userId, :name) ON CONFLICT (user_id, name) DO NOTHING",
+           nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+}
@@ -0,0 +1,77 @@
+package com.personal.finance.repository;
+
+import com.personal.finance.model.MonthlyCategoryTotal;
+import com.personal.finance.repository.projection.CategoryTotal;
+import com.personal.finance.repository.projection.MonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long> {
+
+    @Query("SELECT c.name AS category, SUM(r.total) AS total FROM MonthlyCategoryTotal r " +
+           "JOIN Category c ON c.id = r.categoryId WHERE r.userId = :userId GROUP BY c.id, c.name")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId);
+
+    @Query("SELECT r.monthStart AS month, SUM(r.total) AS total FROM MonthlyCategoryTotal r " +
+           "WHERE r.userId = :userId AND r.monthStart BETWEEN :fromMonth AND :toMonth " +
+           "GROUP BY r.monthStart ORDER BY r.monthStart")
+    List<MonthlyTotal> sumByMonth(
+            @Param("userId") Long userId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    // Adds (or subtracts) a delta to a single bucket, creating it when missing
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_total (user_id, month_start, category_id, total, transaction_count) " +
+                   "VALUES (:userId, :monthStart, :categoryId, :amount, :count) " +
+                   "ON CONFLICT (user_id, month_start, category_id) DO UPDATE SET " +
+                   "total = monthly_category_total.total + EXCLUDED.total, " +
+                   "transaction_count = monthly_category_total.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    void applyDelta(
+            @Param("userId") Long userId,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("categoryId") Integer categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_category_total " +
+                   "WHERE user_id = :userId AND month_start = :monthStart AND category_id = :categoryId " +
+                   "AND transaction_count <= 0",
+           nativeQuery = true)
+    void deleteIfEmpty(
+            @Param("userId") Long userId,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("categoryId") Integer categoryId
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_category_total WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    // Recomputes every bucket of a user straight from the ledger
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_total (user_id, month_start, category_id, total, transaction_count) " +
+                   "SELECT t.user_id, CAST(date_trunc('month', t.date) AS date), t.category_id, SUM(t.amount), COUNT(*) " +
+                   "FROM transaction t WHERE t.user_id = :userId " +
+                   "GROUP BY t.user_id, CAST(date_trunc('month', t.date) AS date), t.category_id",
+           nativeQuery = true)
+    void rebuildForUser(@Param("userId") Long userId);
+
+    // Users that own transactions but have no rollup rows yet
+    @Query(value = "SELECT DISTINCT t.user_id FROM transaction t WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM monthly_category_total r WHERE r.user_id = t.user_id)",
+           nativeQuery = true)
+    List<Long> findUserIdsMissingRollups();
+}
@@ -0,0 +1,27 @@
+package com.personal.finance.repository;
+
+import com.personal.finance.model.RecurringTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.user.id = :userId ORDER BY r.id")
+    List<RecurringTransaction> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id = :id AND r.user.id = :userId")
+    Optional<RecurringTransaction> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // ✅ Claims a batch of due rules; SKIP LOCKED lets several instances split the work without waiting on each other
+    @Query(value = "SELECT * FROM recurring_transaction WHERE next_run_at <= :now " +
+                   "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<RecurringTransaction> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -1,18 +1,37 @@
 package com.personal.finance.repository;
 
+import com.personal.finance.dto.TransactionView;
 import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.projection.BucketTotal;
+import com.personal.finance.repository.projection.CategoryTotal;
+import com.personal.finance.repository.projection.DateBucket;
+import com.personal.finance.repository.projection.DeletedTransaction;
+import com.personal.finance.repository.projection.LedgerRow;
+import com.personal.finance.repository.projection.MonthlyTotal;
+import com.personal.finance.repository.projection.TransactionDescription;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+
+    // Constructor expression of the read model; t is the transaction, c its category
+    String VIEW = "new com.personal.finance.dto.TransactionView(t.id, t.description, t.amount, t.date, c.name)";
 
     // ✅ Fix: Add this method to filter transactions within a date range
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate")
@@ -26,6 +45,113 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT MIN(t.date) FROM Transaction t WHERE t.user.id = :userId")
     Optional<LocalDate> findEarliestTransactionDate(@Param("userId") Long userId);
 
-    // ✅ Optional: If `findByUserId` is missing, add it too
-    List<Transaction> findByUserId(Long userId);
+    // ✅ Read path: rows are selected straight into TransactionView records (five columns, category name
+    //    joined in); no entities are materialized, so neither the users row nor dirty checking is involved
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId")
+    List<TransactionView> findByUserId(@Param("userId") Long userId);
+
+    // ✅ The given ids, newest (by date, then id) first; text search loads the index's top matches with it
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId AND t.id IN :ids " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionView> findNewestByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, Limit limit);
+
+    // ✅ Keyset pagination, newest first: (date, id) is unique so pages never skip or repeat rows
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionView> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) ORDER BY t.date DESC, t.id DESC")
+    List<TransactionView> findPageAfter(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    // ✅ Forward-only cursor; must be consumed inside a transaction for the JDBC fetch size to apply
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId " +
+           "ORDER BY t.date DESC, t.id DESC")
+    Stream<TransactionView> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId " +
+           "AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date, t.id")
+    Stream<TransactionView> streamByUserIdAndDateBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + VIEW + " FROM Transaction t JOIN t.categoryRef c WHERE t.user.id = :userId " +
+           "AND t.date BETWEEN :startDate AND :endDate AND c.id IN :categoryIds ORDER BY t.date, t.id")
+    Stream<TransactionView> streamByUserIdAndDateBetweenAndCategoryIdIn(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("categoryIds") Collection<Integer> categoryIds
+    );
+
+    // ✅ Only (id, date, description) for building the in-memory description index; no entities materialized
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.date AS date, t.description AS description FROM Transaction t WHERE t.user.id = :userId")
+    Stream<TransactionDescription> streamDescriptionsByUserId(@Param("userId") Long userId);
+
+    // ✅ Numeric columns only, in date order, for loading the columnar analytics cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.date AS date, t.amount AS amount, c.name AS category FROM Transaction t " +
+           "JOIN t.categoryRef c WHERE t.user.id = :userId ORDER BY t.date, t.id")
+    Stream<LedgerRow> streamLedgerRowsByUserId(@Param("userId") Long userId);
+
+    // ✅ Set-based delete: ownership is part of the WHERE clause, and the removed rows come back in the same
+    //    statement so rollups and caches can be adjusted without reading them first
+    @Query(value = "WITH deleted AS (DELETE FROM transaction WHERE user_id = :userId AND id IN (:ids) " +
+                   "RETURNING id, date, amount, category_id, description) " +
+                   "SELECT d.id AS id, d.date AS date, d.amount AS amount, d.category_id AS \"categoryId\", " +
+                   "c.name AS category, d.description AS description " +
+                   "FROM deleted d JOIN category c ON c.id = d.category_id",
+           nativeQuery = true)
+    List<DeletedTransaction> deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // ✅ Aggregates computed in Postgres: only one row per group leaves the database
+
+    // ✅ Grouped on the integer category id; the name is joined in once per group
+    @Query("SELECT c.name AS category, SUM(t.amount) AS total FROM Transaction t JOIN t.categoryRef c " +
+           "WHERE t.user.id = :userId GROUP BY c.id, c.name")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId);
+
+    @Query("SELECT c.name AS category, SUM(t.amount) AS total FROM Transaction t JOIN t.categoryRef c " +
+           "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate GROUP BY c.id, c.name")
+    List<CategoryTotal> sumByCategoryBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query(value = "SELECT CAST(date_trunc('month', t.date) AS date) AS month, SUM(t.amount) AS total " +
+                   "FROM transaction t WHERE t.user_id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY 1 ORDER BY 1",
+           nativeQuery = true)
+    List<MonthlyTotal> sumByMonthBetween(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query(value = "SELECT CAST(date_trunc(:unit, t.date) AS date) AS bucket, SUM(t.amount) AS total " +
+                   "FROM transaction t WHERE t.user_id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY 1 ORDER BY 1",
+           nativeQuery = true)
+    List<BucketTotal> sumByDateUnitBetween(
+            @Param("userId") Long userId,
+            @Param("unit") String unit,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    default List<BucketTotal> sumByBucketBetween(Long userId, DateBucket bucket, LocalDate startDate, LocalDate endDate) {
+        return sumByDateUnitBetween(userId, bucket.sqlUnit(), startDate, endDate);
+    }
 }
@@ -0,0 +1,86 @@
+package com.personal.finance.repository;
+
+import com.personal.finance.dto.SearchCursor;
+import com.personal.finance.dto.TransactionSearch;
+import com.personal.finance.model.Transaction;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria predicates for {@link TransactionRepository#findBy}. Every search is anchored on the user id,
+ * so Postgres starts from the (user_id, ...) indexes and only the user's matching rows are read.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Rows of the user matching {@code search}; the category filter uses {@code categoryIds}, the dictionary
+     * ids of the searched names, so it compares the integer FK column without a join.
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionSearch search,
+                                                      Collection<Integer> categoryIds) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            // Compares the FK column directly; no join to users
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (search.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), search.from()));
+            }
+            if (search.to() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("date"), search.to()));
+            }
+            if (search.hasCategories()) {
+                predicates.add(root.get("categoryRef").get("id").in(categoryIds));
+            }
+            if (search.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), search.minAmount()));
+            }
+            if (search.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), search.maxAmount()));
+            }
+            if (search.text() != null) {
+                String pattern = "%" + escapeLike(search.text().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.lower(root.get("description")), pattern, '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Rows strictly after {@code cursor} in (field, id) order, ascending or descending.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Transaction> after(SearchCursor cursor, boolean ascending) {
+        return (root, query, cb) -> {
+            Expression<Comparable> field = path(root, cursor.field().attribute());
+            Expression<Long> id = root.get("id");
+            Comparable value = cursor.typedValue();
+            Predicate beyondValue = ascending ? cb.greaterThan(field, value) : cb.lessThan(field, value);
+            Predicate beyondId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            return cb.or(beyondValue, cb.and(cb.equal(field, value), beyondId));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Path<T> path(Path<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return (Path<T>) path;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
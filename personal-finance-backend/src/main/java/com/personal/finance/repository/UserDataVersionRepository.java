@@ -0,0 +1,24 @@
+package com.personal.finance.repository;
+
+import com.personal.finance.model.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+
+    // Atomic increment; the row is created on a user's first write
+    @Modifying
+    @Query(value = "INSERT INTO user_data_version (user_id, version) VALUES (:userId, 1) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET version = user_data_version.version + 1",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId);
+}
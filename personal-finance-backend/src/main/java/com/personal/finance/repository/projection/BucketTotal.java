@@ -0,0 +1,10 @@
+package com.personal.finance.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface BucketTotal {
+    // First day of the bucket
+    LocalDate getBucket();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,9 @@
+package com.personal.finance.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface BudgetSpend {
+    String getCategory();
+    BigDecimal getLimitAmount();
+    BigDecimal getSpent();
+}
@@ -0,0 +1,8 @@
+package com.personal.finance.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface CategoryTotal {
+    String getCategory();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,22 @@
+package com.personal.finance.repository.projection;
+
+/**
+ * Granularities accepted by PostgreSQL's date_trunc, so callers never pass free-form SQL units.
+ */
+public enum DateBucket {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month"),
+    QUARTER("quarter"),
+    YEAR("year");
+
+    private final String sqlUnit;
+
+    DateBucket(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    public String sqlUnit() {
+        return sqlUnit;
+    }
+}
@@ -0,0 +1,6 @@
+package com.personal.finance.repository.projection;
+
+// Row removed by a set-based delete, as returned by DELETE ... RETURNING
+public interface DeletedTransaction extends LedgerRow, TransactionDescription {
+    Integer getCategoryId();
+}
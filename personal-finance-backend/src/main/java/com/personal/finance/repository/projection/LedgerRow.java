@@ -0,0 +1,11 @@
+package com.personal.finance.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface LedgerRow {
+    Long getId();
+    LocalDate getDate();
+    BigDecimal getAmount();
+    String getCategory();
+}
@@ -0,0 +1,10 @@
+package com.personal.finance.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface MonthlyTotal {
+    // First day of the month
+    LocalDate getMonth();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,9 @@
+package com.personal.finance.repository.projection;
+
+import java.time.LocalDate;
+
+public interface TransactionDescription {
+    Long getId();
+    LocalDate getDate();
+    String getDescription();
+}
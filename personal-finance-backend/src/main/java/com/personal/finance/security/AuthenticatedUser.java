@@ -0,0 +1,8 @@
+package com.personal.finance.security;
+
+/**
+ * The caller resolved by {@link JwtAuthenticationFilter}. Controllers receive it through
+ * {@code @AuthenticationPrincipal} instead of re-parsing the token and querying the users table.
+ */
+public record AuthenticatedUser(Long id, String username, String email) {
+}
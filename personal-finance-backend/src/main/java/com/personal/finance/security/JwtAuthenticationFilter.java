@@ -1,14 +1,24 @@
 package com.personal.finance.security;
 
 import com.personal.finance.service.TokenBlacklistService;
+import com.personal.finance.service.UserCache;
 import com.personal.finance.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import jakarta.servlet.FilterChain;
@@ -16,27 +26,53 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    // MDC key carried by every log line of an authenticated request (cleared by RequestLoggingFilter)
+    public static final String MDC_USER_ID = "userId";
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserCache userCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter revokedTokenHits;
+
+    @PostConstruct
+    void initMetrics() {
+        revokedTokenHits = Counter.builder("auth.token.revoked.hits")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+    }
+
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    // Streamed responses finish on an async dispatch, where this filter does not run again; the context saved
+    // here is what SecurityContextHolderFilter restores for it
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String requestURI = request.getRequestURI();
 
-        // Skip JWT authentication for login and register requests
-        if (requestURI.startsWith("/auth/login") || requestURI.startsWith("/auth/register")) {
+        // Skip JWT authentication for login, register and metrics scrape requests
+        if (requestURI.startsWith("/auth/login") || requestURI.startsWith("/auth/register")
+                || requestURI.equals("/actuator/health") || requestURI.equals("/actuator/prometheus")) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -48,44 +84,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                System.out.println("[AUTH ERROR] Missing or invalid Authorization header");
+                LOGGER.debug("Missing or invalid Authorization header");
                 handleUnauthorizedResponse(response, "Missing or invalid Authorization header");
                 return;
             }
 
-            jwtToken = authHeader.substring(7); // Remove "Bearer " prefix
-            System.out.println("[DEBUG] Extracted Token: " + jwtToken);
+            jwtToken = authHeader.substring(7); // Remove "Bearer " prefix (never logged)
 
-            // Extract username from token
-            username = jwtUtil.extractUsername(jwtToken);
-            System.out.println("[DEBUG] Extracted Username from Token: " + username);
+            // Verify the token once; an invalid signature or expiry throws
+            Claims claims = jwtUtil.extractClaims(jwtToken);
+            username = claims.getSubject();
 
             // Check if the token is blacklisted
-            if (tokenBlacklistService.isTokenBlacklisted(jwtToken)) {
-                System.out.println("[AUTH ERROR] Token is blacklisted: " + jwtToken);
+            if (tokenBlacklistService.isRevoked(jwtUtil.tokenId(jwtToken, claims))) {
+                revokedTokenHits.increment();
+                LOGGER.debug("Rejected revoked token for user {}", username);
                 handleUnauthorizedResponse(response, "Token is invalid or blacklisted");
                 return;
             }
 
             // Validate token and set authentication context
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                    System.out.println("[AUTH SUCCESS] Token is valid. User authenticated: " + username);
+                // Resolve the principal once per request from the cache (no query on a hit)
+                Long userId = jwtUtil.extractUserId(claims);
+                Optional<AuthenticatedUser> principal = userId != null
+                        ? userCache.findById(userId)
+                        : userCache.findByUsername(username);
+
+                if (principal.isPresent() && principal.get().username().equals(username)) {
+                    MDC.put(MDC_USER_ID, String.valueOf(principal.get().id()));
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    principal.get(), null, USER_AUTHORITIES);
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
                 } else {
-                    System.out.println("[AUTH ERROR] Token validation failed. Invalid or expired token.");
+                    LOGGER.debug("Token subject {} does not match a known user", username);
                     handleUnauthorizedResponse(response, "Invalid or expired token");
                     return;
                 }
             }
         } catch (Exception ex) {
-            System.err.println("[AUTH ERROR] Exception during token validation: " + ex.getMessage());
+            LOGGER.debug("Token validation failed: {}", ex.getMessage());
             handleUnauthorizedResponse(response, "Token validation failed: " + ex.getMessage());
             return;
         }
@@ -0,0 +1,131 @@
+package com.personal.finance.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.finance.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting, placed in the security chain right after {@link com.personal.finance.security.JwtAuthenticationFilter}
+ * so the user id is known. Over-limit requests get 429 with Retry-After and never reach the controllers or the DB pool.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String AUTH_PATTERN = "/auth/**";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteLimit> routes;
+    private final Cache<String, TokenBucket> buckets;
+    private final boolean enabled;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+
+        List<RouteLimit> configured = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (route.getPattern() == null) {
+                throw new IllegalStateException("rate-limit.routes." + entry.getKey() + ".pattern is required");
+            }
+            // Validates capacity and refill rate at startup
+            new TokenBucket(route.getCapacity(), route.getRefillPerSecond(), 0);
+            boolean byIp = pathMatcher.match(AUTH_PATTERN, route.getPattern());
+            Counter throttled = Counter.builder("http.server.requests.throttled")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tags("route", entry.getKey(), "key", byIp ? "ip" : "user")
+                    .register(meterRegistry);
+            configured.add(new RouteLimit(entry.getKey(), route.getPattern(), route.getCapacity(),
+                    route.getRefillPerSecond(), byIp, throttled));
+        }
+        this.routes = List.copyOf(configured);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RouteLimit route = resolve(path);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = route.name() + ':' + clientKey(request, route.byIp());
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(route.capacity(), route.refillPerSecond(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            route.throttled().increment();
+            LOGGER.debug("Throttled {} on route {}", key, route.name());
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Too many requests, retry in " + retryAfterSeconds + "s\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Most specific matching pattern, e.g. /api/transactions/import before /api/**
+    private RouteLimit resolve(String path) {
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        RouteLimit best = null;
+        for (RouteLimit route : routes) {
+            if (pathMatcher.match(route.pattern(), path)
+                    && (best == null || specificity.compare(route.pattern(), best.pattern()) < 0)) {
+                best = route;
+            }
+        }
+        return best;
+    }
+
+    private String clientKey(HttpServletRequest request, boolean byIp) {
+        if (!byIp) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return "u" + user.id();
+            }
+        }
+        // The client address, resolved from X-Forwarded-For when the peer is a trusted proxy (server.forward-headers-strategy)
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private record RouteLimit(String name, String pattern, int capacity, double refillPerSecond,
+                              boolean byIp, Counter throttled) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.personal.finance.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding {@code capacity} tokens and refilling at {@code refillPerSecond}.
+ * <p>
+ * The whole state is one {@code long}: the time at which the bucket would be full again
+ * (the GCRA form of a token bucket). Taking a token pushes that time forward by one refill interval,
+ * and is refused when it would move more than {@code capacity} intervals past now. Updates are a single CAS.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillPerSecond > 0");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token. Returns 0 when granted, otherwise the nanoseconds until a token will be available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Tokens currently available (approximate under concurrent use)
+    public long available(long nowNanos) {
+        long used = Math.max(0, fullAt.get() - nowNanos);
+        return (burstNanos - used) / intervalNanos;
+    }
+}
@@ -0,0 +1,71 @@
+package com.personal.finance.service;
+
+import com.personal.finance.dto.BudgetStatus;
+import com.personal.finance.dto.BudgetView;
+import com.personal.finance.repository.BudgetRepository;
+import com.personal.finance.repository.projection.BudgetSpend;
+import com.personal.finance.service.analytics.LedgerColumnCache;
+import com.personal.finance.service.analytics.LedgerColumns;
+import com.personal.finance.service.money.MinorUnits;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Budget reads: the budgets themselves and spend vs. limit for one calendar month, all in exact decimal
+ * arithmetic. Runs in read-only transactions and returns records, never managed entities.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BudgetStatusService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private LedgerColumnCache ledgerColumns;
+
+    public List<BudgetView> budgetsFor(Long userId) {
+        return budgetRepository.findByUserId(userId);
+    }
+
+    public List<BudgetStatus> statusFor(Long userId, YearMonth month) {
+        LocalDate periodStart = month.atDay(1);
+        LocalDate periodEnd = month.atEndOfMonth();
+
+        List<BudgetStatus> statuses = new ArrayList<>();
+        Optional<LedgerColumns> cached = ledgerColumns.get(userId);
+        if (cached.isPresent()) {
+            // Spend from the columnar cache; only the budgets themselves are read from the database
+            for (BudgetView budget : budgetRepository.findByUserId(userId)) {
+                long spentMinor = cached.get().categoryTotal(budget.category(), periodStart, periodEnd);
+                statuses.add(status(budget.category(), budget.limitAmount(), MinorUnits.toDecimal(spentMinor),
+                        periodStart, periodEnd));
+            }
+            return statuses;
+        }
+
+        for (BudgetSpend row : budgetRepository.findSpendByUserIdForMonth(userId, periodStart)) {
+            statuses.add(status(row.getCategory(), row.getLimitAmount(), row.getSpent(), periodStart, periodEnd));
+        }
+        return statuses;
+    }
+
+    private static BudgetStatus status(String category, BigDecimal limit, BigDecimal spent,
+                                       LocalDate periodStart, LocalDate periodEnd) {
+        BigDecimal percentUsed = limit.signum() == 0
+                ? null
+                : spent.multiply(HUNDRED).divide(limit, 2, RoundingMode.HALF_UP);
+        return new BudgetStatus(category, limit, spent, limit.subtract(spent), percentUsed, periodStart, periodEnd);
+    }
+}
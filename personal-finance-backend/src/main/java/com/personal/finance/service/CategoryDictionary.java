@@ -0,0 +1,134 @@
+package com.personal.finance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.finance.model.Category;
+import com.personal.finance.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Category name ↔ integer id per user, held in memory so writes and filters resolve names without a query.
+ * A user's names are loaded in one query on first use; names are interned, so each distinct one is held once.
+ * A name missing from memory is looked up in the database before it counts as unknown, so categories created
+ * by another instance are found. New names are inserted in the caller's transaction
+ * ({@code ON CONFLICT DO NOTHING}) and only cached once it commits.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final Cache<Long, Map<String, Integer>> idsByUser;
+
+    public CategoryDictionary(CategoryRepository categoryRepository,
+                              EntityManager entityManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${categories.cache.maximum-users:10000}") long maximumUsers,
+                              @Value("${categories.cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
+        this.idsByUser = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUser, "categories");
+    }
+
+    // Id of an existing category; empty when the user never used the name
+    public Optional<Integer> find(Long userId, String name) {
+        Map<String, Integer> ids = namesOf(userId);
+        Integer id = ids.get(name);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Optional<Integer> stored = categoryRepository.findIdByUserIdAndName(userId, name);
+        stored.ifPresent(storedId -> ids.putIfAbsent(name.intern(), storedId));
+        return stored;
+    }
+
+    // Ids of the known names among {@code names}; unknown names are skipped
+    public List<Integer> findAll(Long userId, Collection<String> names) {
+        Map<String, Integer> ids = namesOf(userId);
+        List<Integer> found = new ArrayList<>(names.size());
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                found.add(id);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Category category : categoryRepository.findByUserIdAndNameIn(userId, missing)) {
+                ids.putIfAbsent(category.getName().intern(), category.getId());
+                found.add(category.getId());
+            }
+        }
+        return found;
+    }
+
+    // Id for the name, creating the category on first use
+    @Transactional
+    public Integer resolve(Long userId, String name) {
+        Map<String, Integer> ids = namesOf(userId);
+        Integer id = ids.get(name);
+        return id != null ? id : insert(userId, name, ids);
+    }
+
+    // Unloaded reference for setting a foreign key; the category row is not read
+    @Transactional
+    public Category reference(Long userId, String name) {
+        return entityManager.getReference(Category.class, resolve(userId, name));
+    }
+
+    /**
+     * References for every distinct name, keyed by name. Missing names are inserted in sorted order, so two
+     * transactions creating the same new names cannot lock them in opposite orders.
+     */
+    @Transactional
+    public Map<String, Category> referenceAll(Long userId, Collection<String> names) {
+        Map<String, Integer> ids = namesOf(userId);
+        Map<String, Category> references = new HashMap<>();
+        for (String name : new TreeSet<>(names)) {
+            Integer id = ids.get(name);
+            references.put(name, entityManager.getReference(Category.class, id != null ? id : insert(userId, name, ids)));
+        }
+        return references;
+    }
+
+    // Runs in the caller's transaction; a rollback undoes the row, so the id is cached only after commit
+    private Integer insert(Long userId, String name, Map<String, Integer> ids) {
+        categoryRepository.insertIfAbsent(userId, name);
+        Integer created = categoryRepository.findIdByUserIdAndName(userId, name).orElseThrow();
+        String key = name.intern();
+        AfterCommit.run(() -> ids.putIfAbsent(key, created));
+        return created;
+    }
+
+    private Map<String, Integer> namesOf(Long userId) {
+        return idsByUser.get(userId, id -> {
+            Map<String, Integer> ids = new ConcurrentHashMap<>();
+            for (Category category : categoryRepository.findByUserId(id)) {
+                ids.put(category.getName().intern(), category.getId());
+            }
+            return ids;
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.personal.finance.service;
+
+import com.personal.finance.repository.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-user data version behind the ETags of ledger, aggregate and budget reads.
+ * <p>
+ * Writers call {@link #bump} inside the transaction that changes the data (or right after it commits),
+ * never before: a reader may then pair an old version with new data (one extra refetch) but never a new
+ * version with old data.
+ */
+@Service
+public class DataVersionService {
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Transactional
+    public void bump(Long userId) {
+        versionRepository.increment(userId);
+    }
+
+    public long current(Long userId) {
+        return versionRepository.findVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Weak ETag for a user's data at the current version. {@code qualifiers} cover anything else the
+     * response depends on that is not in the URL, such as today's date for rolling ranges.
+     */
+    public String etag(Long userId, Object... qualifiers) {
+        StringBuilder tag = new StringBuilder("W/\"").append(userId).append('.').append(current(userId));
+        for (Object qualifier : qualifiers) {
+            tag.append('.').append(qualifier);
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -0,0 +1,162 @@
+package com.personal.finance.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.personal.finance.dto.LedgerFilter;
+import com.personal.finance.dto.TransactionView;
+import com.personal.finance.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a user's ledger row by row from a database cursor. Rows are read as {@link TransactionView} records,
+ * which the persistence context never holds, so heap use stays flat regardless of ledger size.
+ */
+@Service
+public class LedgerStreamService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "id,date,description,amount,category";
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categories;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter rowWriter;
+
+    public LedgerStreamService(TransactionRepository transactionRepository,
+                               CategoryDictionary categories,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.categories = categories;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rows are separate root values on one generator: no default " " between them, the newline is the separator
+        this.rowWriter = objectMapper.writerFor(TransactionView.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Newline-delimited JSON, one transaction per line, newest first
+    public void writeNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = newGenerator(out)) {
+            forEachRow(() -> transactionRepository.streamByUserId(userId), transaction -> {
+                rowWriter.writeValue(generator, transaction);
+                generator.writeRaw('\n');
+            }, generator::flush);
+        }
+    }
+
+    // Filtered export in date order, optionally gzip-compressed
+    public void export(Long userId, LedgerFilter filter, Format format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        RowSource rows = filter.hasCategories()
+                ? categoryRows(userId, filter)
+                : () -> transactionRepository.streamByUserIdAndDateBetween(userId, filter.fromOrEarliest(), filter.toOrLatest());
+
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            forEachRow(rows, transaction -> writeCsvRow(writer, transaction), writer::flush);
+            writer.flush();
+        } else {
+            JsonGenerator generator = newGenerator(target);
+            forEachRow(rows, transaction -> {
+                rowWriter.writeValue(generator, transaction);
+                generator.writeRaw('\n');
+            }, generator::flush);
+            generator.flush();
+        }
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+    }
+
+    // Names the user never used match nothing, so they are dropped before the query
+    private RowSource categoryRows(Long userId, LedgerFilter filter) {
+        List<Integer> categoryIds = categories.findAll(userId, filter.categories());
+        if (categoryIds.isEmpty()) {
+            return Stream::empty;
+        }
+        return () -> transactionRepository.streamByUserIdAndDateBetweenAndCategoryIdIn(
+                userId, filter.fromOrEarliest(), filter.toOrLatest(), categoryIds);
+    }
+
+    private JsonGenerator newGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = rowWriter.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    // Runs the cursor inside a read-only transaction (required for the JDBC fetch size to apply)
+    private void forEachRow(RowSource source, RowConsumer consumer, Flusher flusher) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionView> rows = source.open()) {
+                int written = 0;
+                for (Iterator<TransactionView> it = rows.iterator(); it.hasNext(); ) {
+                    consumer.accept(it.next());
+                    if (++written % FLUSH_EVERY == 0) {
+                        flusher.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsvRow(Writer writer, TransactionView transaction) throws IOException {
+        writer.write(String.valueOf(transaction.id()));
+        writer.write(',');
+        writer.write(transaction.date().toString());
+        writer.write(',');
+        writer.write(csvField(transaction.description()));
+        writer.write(',');
+        writer.write(transaction.amount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(transaction.category()));
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        Stream<TransactionView> open();
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(TransactionView transaction) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+        void flush() throws IOException;
+    }
+}
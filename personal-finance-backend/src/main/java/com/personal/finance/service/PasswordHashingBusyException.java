@@ -0,0 +1,11 @@
+package com.personal.finance.service;
+
+/**
+ * Thrown when the password hashing executor is saturated; callers should answer 503 with Retry-After.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
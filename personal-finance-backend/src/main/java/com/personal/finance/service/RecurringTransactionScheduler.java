@@ -0,0 +1,58 @@
+package com.personal.finance.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Polls for due recurring rules and materializes them batch by batch. Each batch commits on its own, so a
+ * run that stops midway has still checkpointed every batch before it. Work per run is capped; a larger backlog
+ * drains over the following runs instead of in one burst.
+ */
+@Component
+public class RecurringTransactionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    @Autowired
+    private RecurringTransactionService recurringService;
+
+    @Value("${recurring.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recurring.batch-size:200}")
+    private int batchSize;
+
+    @Value("${recurring.max-batches-per-run:25}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${recurring.scheduler.initial-delay-ms:30000}",
+               fixedDelayString = "${recurring.scheduler.interval-ms:60000}")
+    public void materializeDue() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        int rules = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int claimed = recurringService.materializeDue(now, batchSize);
+                rules += claimed;
+                if (claimed < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // The failed batch rolled back with its checkpoints; it is retried on the next run
+            LOGGER.warn("Recurring transaction batch failed after {} rule(s)", rules, e);
+        }
+        if (rules > 0) {
+            LOGGER.info("Materialized recurring transactions for {} rule(s)", rules);
+        }
+    }
+}
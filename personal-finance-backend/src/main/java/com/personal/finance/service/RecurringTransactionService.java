@@ -0,0 +1,159 @@
+package com.personal.finance.service;
+
+import com.personal.finance.model.RecurringTransaction;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.RecurringTransactionRepository;
+import com.personal.finance.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recurring rules and their materialization into ledger rows.
+ * <p>
+ * A batch claims due rules with {@code FOR UPDATE SKIP LOCKED}, inserts every occurrence up to today and advances
+ * each rule's checkpoint ({@code occurrenceCount}, {@code nextOccurrence}) in the same transaction. A crash or a
+ * missed run therefore either leaves both untouched or both committed: the next run resumes from the checkpoint
+ * and catches up without duplicates. The (recurring_id, date) unique key guards against anything else.
+ */
+@Service
+public class RecurringTransactionService {
+
+    @Autowired
+    private RecurringTransactionRepository ruleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryDictionary categories;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Due rules are picked up at a per-rule offset within this window after midnight, not all at 00:00
+    @Value("${recurring.spread-window:6h}")
+    private Duration spreadWindow;
+
+    // Catch-up cap per rule and batch; a rule with a longer backlog stays due and continues in the next batch
+    @Value("${recurring.max-occurrences-per-rule:366}")
+    private int maxOccurrencesPerRule;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public List<RecurringTransaction> findAll(Long userId) {
+        return ruleRepository.findByUserId(userId);
+    }
+
+    @Transactional
+    public RecurringTransaction create(Long userId, RecurringTransaction rule) {
+        if (rule.getEndDate() != null && rule.getEndDate().isBefore(rule.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        rule.setId(null);
+        rule.setUser(userRepository.getReferenceById(userId));
+        rule.setCategoryRef(categories.reference(userId, rule.getCategory()));
+        rule.setOccurrenceCount(0);
+        RecurringTransaction saved = ruleRepository.save(rule);
+        schedule(saved, saved.getStartDate());
+        if (saved.getNextRunAt() != null && !saved.getStartDate().isAfter(LocalDate.now(zone))) {
+            // Already due: picked up by the next run rather than at tomorrow's slot
+            saved.setNextRunAt(Instant.now());
+        }
+        return saved;
+    }
+
+    @Transactional
+    public boolean delete(Long userId, Long id) {
+        return ruleRepository.findByIdAndUserId(id, userId)
+                .map(rule -> {
+                    ruleRepository.delete(rule);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Materializes the due occurrences of up to {@code batchSize} rules, across users, in one transaction.
+     * Rows are inserted per user through {@link TransactionService#createAll}, so rollups, data versions and
+     * in-memory indexes follow exactly as for an import.
+     *
+     * @return number of rules claimed; fewer than {@code batchSize} means nothing else is due
+     */
+    @Transactional
+    public int materializeDue(Instant now, int batchSize) {
+        List<RecurringTransaction> rules = ruleRepository.lockDue(now, batchSize);
+        LocalDate today = LocalDate.ofInstant(now, zone);
+        Map<Long, User> users = new LinkedHashMap<>();
+        Map<Long, List<Transaction>> rowsByUser = new LinkedHashMap<>();
+
+        // Every checkpoint is advanced before the first insert: createAll flushes and clears the persistence context
+        for (RecurringTransaction rule : rules) {
+            long n = rule.getOccurrenceCount();
+            LocalDate date = rule.occurrence(n);
+            int generated = 0;
+            while (!date.isAfter(today) && !rule.isEnded(date) && generated < maxOccurrencesPerRule) {
+                User user = rule.getUser();
+                users.putIfAbsent(user.getId(), user);
+                rowsByUser.computeIfAbsent(user.getId(), id -> new ArrayList<>()).add(occurrenceOf(rule, date));
+                date = rule.occurrence(++n);
+                generated++;
+            }
+            rule.setOccurrenceCount(n);
+            schedule(rule, date);
+        }
+
+        int inserted = 0;
+        for (Map.Entry<Long, List<Transaction>> entry : rowsByUser.entrySet()) {
+            inserted += transactionService.createAll(users.get(entry.getKey()), entry.getValue());
+        }
+        meterRegistry.counter("recurring.occurrences.materialized").increment(inserted);
+        return rules.size();
+    }
+
+    private static Transaction occurrenceOf(RecurringTransaction rule, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(rule.getDescription());
+        transaction.setAmount(rule.getAmount());
+        transaction.setCategory(rule.getCategory());
+        transaction.setDate(date);
+        transaction.setRecurringId(rule.getId());
+        return transaction;
+    }
+
+    // Points the rule at its next occurrence, or retires it once past the end date
+    private void schedule(RecurringTransaction rule, LocalDate next) {
+        if (rule.isEnded(next)) {
+            rule.setNextOccurrence(null);
+            rule.setNextRunAt(null);
+            return;
+        }
+        rule.setNextOccurrence(next);
+        rule.setNextRunAt(next.atStartOfDay(zone).toInstant().plus(offsetOf(rule.getId())));
+    }
+
+    // Stable pseudo-random offset within the spread window, so a rule keeps its slot from one period to the next
+    private Duration offsetOf(Long ruleId) {
+        long windowSeconds = spreadWindow.toSeconds();
+        if (windowSeconds <= 0) {
+            return Duration.ZERO;
+        }
+        long mixed = ruleId * 0x9E3779B97F4A7C15L;
+        return Duration.ofSeconds(Math.floorMod(mixed ^ (mixed >>> 32), windowSeconds));
+    }
+}
@@ -0,0 +1,28 @@
+package com.personal.finance.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populates the rollup table for existing data on startup.
+ * Only users without any rollup rows are rebuilt, so restarts are cheap once the backfill has run.
+ */
+@Component
+public class RollupBackfillRunner implements ApplicationRunner {
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Value("${rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (backfillOnStartup) {
+            rollupService.rebuildMissing();
+        }
+    }
+}
@@ -1,21 +1,154 @@
 package com.personal.finance.service;
 
+import com.personal.finance.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Revoked tokens keyed by token id (jti, or digest for older tokens) together with their expiry.
+ * <p>
+ * Lookups are lock-free: a Bloom filter answers the common "not revoked" case without touching the map.
+ * Entries are pruned once their token has expired, and every revocation is appended to a local log
+ * that is replayed on startup and compacted while pruning.
+ */
 @Service
 public class TokenBlacklistService {
 
-    private final Set<String> blacklistedTokens = new HashSet<>();
+    private static final Logger LOGGER = Logger.getLogger(TokenBlacklistService.class.getName());
+    private static final double FALSE_POSITIVE_RATE = 0.01;
 
-    public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Path logFile;
+    private final long expectedRevocations;
+    private volatile BloomFilter filter;
+
+    public TokenBlacklistService(@Value("${security.revocation.file:data/revoked-tokens.log}") String logFile,
+                                 @Value("${security.revocation.expected-size:100000}") long expectedRevocations) {
+        this.logFile = Paths.get(logFile);
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            for (String line : Files.readAllLines(logFile, StandardCharsets.UTF_8)) {
+                int separator = line.lastIndexOf(' ');
+                if (separator <= 0) {
+                    continue;
+                }
+                long expiresAt = Long.parseLong(line.substring(separator + 1));
+                if (expiresAt > now) {
+                    revokedUntil.put(line.substring(0, separator), expiresAt);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Could not replay revoked tokens from " + logFile, e);
+        }
+        prune();
     }
-}
 
+    public void revoke(String tokenId, Date expiresAt) {
+        long expiry = expiresAt != null ? expiresAt.getTime() : Long.MAX_VALUE;
+        if (expiry <= System.currentTimeMillis()) {
+            return; // Already unusable
+        }
+        writeLock.lock();
+        try {
+            revokedUntil.put(tokenId, expiry);
+            filter.put(tokenId);
+            append(tokenId, expiry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiry = revokedUntil.get(tokenId);
+        return expiry != null && expiry > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revokedUntil.size();
+    }
+
+    // Drops expired entries, rebuilds the filter without them and rewrites the log
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval-ms:300000}")
+    public void prune() {
+        writeLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            revokedUntil.values().removeIf(expiry -> expiry <= now);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revokedUntil.size()), FALSE_POSITIVE_RATE);
+            revokedUntil.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+
+            compact();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(String tokenId, long expiry) {
+        try {
+            createParentDirectories();
+            Files.writeString(logFile, tokenId + " " + expiry + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not persist revoked token to " + logFile, e);
+        }
+    }
+
+    private void compact() {
+        if (!Files.exists(logFile) && revokedUntil.isEmpty()) {
+            return;
+        }
+        try {
+            createParentDirectories();
+            Path temp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : List.copyOf(revokedUntil.entrySet())) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not compact revoked token log " + logFile, e);
+        }
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = logFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+}
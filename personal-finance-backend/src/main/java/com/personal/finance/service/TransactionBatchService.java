@@ -0,0 +1,98 @@
+package com.personal.finance.service;
+
+import com.personal.finance.dto.BatchResult;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.UserRepository;
+import com.personal.finance.repository.projection.DeletedTransaction;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Many-row create and delete in one request. Creates are validated up front and written all-or-nothing as one
+ * batched insert; deletes are a single set-based statement scoped to the user.
+ */
+@Service
+public class TransactionBatchService {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    public BatchResult create(Long userId, List<Transaction> transactions) {
+        // Nothing to write: no transaction, and no data-version bump that would invalidate the user's ETags
+        if (transactions.isEmpty()) {
+            return new BatchResult(false, 0, 0, List.of());
+        }
+        List<BatchResult.Item> items = new ArrayList<>(transactions.size());
+        int invalid = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            String error = validate(transactions.get(i));
+            if (error != null) {
+                invalid++;
+            }
+            items.add(new BatchResult.Item(i, null,
+                    error != null ? BatchResult.Status.INVALID : BatchResult.Status.NOT_APPLIED, error));
+        }
+        if (invalid > 0) {
+            return new BatchResult(false, 0, invalid, items);
+        }
+
+        // Ids come from the pooled sequence at persist time, so they are known before the batch is flushed
+        transactions.forEach(transaction -> transaction.setId(null));
+        transactionService.createAll(userRepository.getReferenceById(userId), transactions);
+        for (int i = 0; i < transactions.size(); i++) {
+            items.set(i, new BatchResult.Item(i, transactions.get(i).getId(), BatchResult.Status.CREATED, null));
+        }
+        return new BatchResult(true, transactions.size(), 0, items);
+    }
+
+    public BatchResult delete(Long userId, List<Long> ids) {
+        Set<Long> deletedIds = new HashSet<>();
+        if (!ids.isEmpty()) {
+            for (DeletedTransaction row : transactionService.deleteAll(userId, new LinkedHashSet<>(ids))) {
+                deletedIds.add(row.getId());
+            }
+        }
+        boolean anyDeleted = !deletedIds.isEmpty();
+        List<BatchResult.Item> items = new ArrayList<>(ids.size());
+        int succeeded = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            // Rows of other users are reported exactly like missing ones; a repeated id finds its row already
+            // claimed by the first occurrence, so each row is reported and counted once
+            boolean deleted = deletedIds.remove(id);
+            succeeded += deleted ? 1 : 0;
+            items.add(new BatchResult.Item(i, id,
+                    deleted ? BatchResult.Status.DELETED : BatchResult.Status.NOT_FOUND, null));
+        }
+        return new BatchResult(anyDeleted, succeeded, ids.size() - succeeded, items);
+    }
+
+    private String validate(Transaction transaction) {
+        if (transaction == null) {
+            return "item must not be null";
+        }
+        Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
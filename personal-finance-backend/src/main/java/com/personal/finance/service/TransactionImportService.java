@@ -0,0 +1,88 @@
+package com.personal.finance.service;
+
+import com.personal.finance.dto.ImportResult;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.UserRepository;
+import com.personal.finance.service.importer.ImportRow;
+import com.personal.finance.service.importer.TransactionRowReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows from an import file, validates them against the {@link Transaction} constraints and writes
+ * the valid ones in chunks. Each chunk commits on its own, so a bad row never rolls back earlier work.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionImportService.class.getName());
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${transactions.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportResult importTransactions(Long userId, TransactionRowReader reader) throws IOException {
+        long started = System.nanoTime();
+        User user = userRepository.getReferenceById(userId);
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        List<ImportResult.RowError> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            String error = row.error() != null ? row.error() : validate(row.transaction());
+            if (error != null) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResult.RowError(row.line(), error));
+                }
+                continue;
+            }
+            chunk.add(row.transaction());
+            if (chunk.size() >= chunkSize) {
+                imported += transactionService.createAll(user, chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += transactionService.createAll(user, chunk);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        double rowsPerSecond = elapsedMillis > 0 ? imported * 1000.0 / elapsedMillis : imported;
+        LOGGER.info("Imported " + imported + " transaction(s), rejected " + rejected + " in " + elapsedMillis + " ms");
+        return new ImportResult(imported, rejected, errors, elapsedMillis, rowsPerSecond);
+    }
+
+    private String validate(Transaction transaction) {
+        Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,120 @@
+package com.personal.finance.service;
+
+import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.MonthlyCategoryTotalRepository;
+import com.personal.finance.repository.projection.DeletedTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the per-user (month, category) rollup table in step with the ledger.
+ * Incremental updates join the caller's transaction so the rollup never drifts from the rows it summarizes.
+ */
+@Service
+public class TransactionRollupService {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionRollupService.class.getName());
+
+    @Autowired
+    private MonthlyCategoryTotalRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        rollupRepository.applyDelta(
+                transaction.getUser().getId(),
+                monthOf(transaction.getDate()),
+                categoryIdOf(transaction),
+                transaction.getAmount(),
+                1
+        );
+    }
+
+    // Collapses a batch to one upsert per (month, category) bucket
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            BucketKey key = new BucketKey(
+                    transaction.getUser().getId(), monthOf(transaction.getDate()), categoryIdOf(transaction));
+            deltas.computeIfAbsent(key, k -> new BucketDelta()).add(transaction.getAmount());
+        }
+        deltas.forEach((key, delta) ->
+                rollupRepository.applyDelta(key.userId(), key.month(), key.categoryId(), delta.amount, delta.count));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        Long userId = transaction.getUser().getId();
+        LocalDate month = monthOf(transaction.getDate());
+        Integer categoryId = categoryIdOf(transaction);
+        rollupRepository.applyDelta(userId, month, categoryId, transaction.getAmount().negate(), -1);
+        rollupRepository.deleteIfEmpty(userId, month, categoryId);
+    }
+
+    // Reverses a set-based delete with one upsert per (month, category) bucket
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, List<? extends DeletedTransaction> rows) {
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (DeletedTransaction row : rows) {
+            BucketKey key = new BucketKey(userId, monthOf(row.getDate()), row.getCategoryId());
+            deltas.computeIfAbsent(key, k -> new BucketDelta()).add(row.getAmount());
+        }
+        deltas.forEach((key, delta) -> {
+            rollupRepository.applyDelta(userId, key.month(), key.categoryId(), delta.amount.negate(), -delta.count);
+            rollupRepository.deleteIfEmpty(userId, key.month(), key.categoryId());
+        });
+    }
+
+    // Drops and recomputes every bucket of a user from the ledger
+    @Transactional
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.rebuildForUser(userId);
+    }
+
+    // Backfills users whose transactions predate the rollup table, one transaction per user
+    public int rebuildMissing() {
+        List<Long> userIds = rollupRepository.findUserIdsMissingRollups();
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+        }
+        if (!userIds.isEmpty()) {
+            LOGGER.info("Rebuilt transaction rollups for " + userIds.size() + " user(s)");
+        }
+        return userIds.size();
+    }
+
+    public static LocalDate monthOf(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    private static Integer categoryIdOf(Transaction transaction) {
+        return transaction.getCategoryRef().getId();
+    }
+
+    private record BucketKey(Long userId, LocalDate month, Integer categoryId) {
+    }
+
+    private static final class BucketDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.personal.finance.service;
+
+import com.personal.finance.dto.SearchCursor;
+import com.personal.finance.dto.TransactionCursor;
+import com.personal.finance.dto.TransactionPage;
+import com.personal.finance.dto.TransactionSearch;
+import com.personal.finance.dto.TransactionSortField;
+import com.personal.finance.dto.TransactionView;
+import com.personal.finance.model.Category;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.TransactionSpecifications;
+import com.personal.finance.service.search.DescriptionIndexService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of the ledger: listing, keyset paging and filtered, sorted search. Each page is one SQL query with a
+ * keyset condition and LIMIT, so its cost follows the page size rather than the ledger size or the page number
+ * (no OFFSET, no COUNT). Everything runs in read-only transactions and returns {@link TransactionView} records.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionSearchService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DescriptionIndexService descriptionIndex;
+
+    @Autowired
+    private CategoryDictionary categories;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Whole ledger, for clients that do not page
+    public List<TransactionView> list(Long userId) {
+        return transactionRepository.findByUserId(userId);
+    }
+
+    // One page newest first; {@code after} is null for the first page
+    public TransactionPage page(Long userId, int limit, TransactionCursor after) {
+        List<TransactionView> items = after == null
+                ? transactionRepository.findFirstPage(userId, Limit.of(limit))
+                : transactionRepository.findPageAfter(userId, after.date(), after.id(), Limit.of(limit));
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            TransactionView last = items.get(items.size() - 1);
+            nextCursor = new TransactionCursor(last.date(), last.id()).encode();
+        }
+        return new TransactionPage(items, nextCursor);
+    }
+
+    public TransactionPage search(Long userId, TransactionSearch search, TransactionSortField sortField,
+                                  boolean ascending, int limit, String cursor) {
+        List<Integer> categoryIds = search.hasCategories() ? categories.findAll(userId, search.categories()) : List.of();
+        if (search.hasCategories() && categoryIds.isEmpty()) {
+            return new TransactionPage(List.of(), null);
+        }
+        Specification<Transaction> spec = TransactionSpecifications.matching(userId, search, categoryIds);
+        if (cursor != null) {
+            SearchCursor position = SearchCursor.decode(cursor);
+            if (position.field() != sortField) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort order");
+            }
+            spec = spec.and(TransactionSpecifications.after(position, ascending));
+        }
+
+        // Criteria rather than findBy: the select list is the five view columns, not the entity
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionView> query = cb.createQuery(TransactionView.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Category> category = root.join("categoryRef");
+        query.select(cb.construct(TransactionView.class, root.get("id"), root.get("description"),
+                root.get("amount"), root.get("date"), category.get("name")));
+        query.where(spec.toPredicate(root, query, cb));
+        Expression<?> sortKey = sortField == TransactionSortField.CATEGORY
+                ? category.get("name")
+                : root.get(sortField.attribute());
+        query.orderBy(ascending
+                ? List.of(cb.asc(sortKey), cb.asc(root.get("id")))
+                : List.of(cb.desc(sortKey), cb.desc(root.get("id"))));
+        List<TransactionView> items = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            TransactionView last = items.get(items.size() - 1);
+            nextCursor = new SearchCursor(sortField, String.valueOf(valueOf(last, sortField)), last.id()).encode();
+        }
+        return new TransactionPage(items, nextCursor);
+    }
+
+    /**
+     * Free-text match on descriptions through the in-memory index (prefix on the last word, optional typo
+     * tolerance), newest by date first. Falls back to a SQL substring search when the index is disabled.
+     */
+    public List<TransactionView> searchText(Long userId, String query, boolean fuzzy, int limit) {
+        if (!descriptionIndex.isEnabled()) {
+            TransactionSearch search = new TransactionSearch(null, null, null, null, null, query);
+            return search(userId, search, TransactionSortField.DATE, false, limit, null).items();
+        }
+        // The index ranks by (date, id) itself, so only the `limit` ids it returns are loaded
+        long[] ids = descriptionIndex.search(userId, query, fuzzy, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> newest = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            newest.add(id);
+        }
+        return transactionRepository.findNewestByUserIdAndIdIn(userId, newest, Limit.of(limit));
+    }
+
+    private static Object valueOf(TransactionView transaction, TransactionSortField field) {
+        return switch (field) {
+            case DATE -> transaction.date();
+            case AMOUNT -> transaction.amount().toPlainString();
+            case DESCRIPTION -> transaction.description();
+            case CATEGORY -> transaction.category();
+        };
+    }
+}
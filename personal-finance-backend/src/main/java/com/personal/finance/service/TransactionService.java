@@ -0,0 +1,107 @@
+package com.personal.finance.service;
+
+import com.personal.finance.model.Category;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.projection.DeletedTransaction;
+import com.personal.finance.service.analytics.LedgerColumnCache;
+import com.personal.finance.service.search.DescriptionIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write path for the ledger. Every change to a transaction row and its rollup bucket commits together.
+ * Category names are resolved to dictionary ids before a row is persisted.
+ */
+@Service
+public class TransactionService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private DescriptionIndexService descriptionIndex;
+
+    @Autowired
+    private LedgerColumnCache ledgerColumns;
+
+    @Autowired
+    private CategoryDictionary categories;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public Transaction create(User user, Transaction transaction) {
+        transaction.setUser(user);
+        transaction.setCategoryRef(categories.reference(user.getId(), transaction.getCategory()));
+        Transaction saved = transactionRepository.save(transaction);
+        rollupService.recordCreated(saved);
+        descriptionIndex.recordCreated(saved);
+        ledgerColumns.recordCreated(saved);
+        dataVersions.bump(user.getId());
+        return saved;
+    }
+
+    /**
+     * Inserts a batch in one transaction. Ids come from the pooled sequence, so Hibernate sends the rows
+     * as JDBC batches of {@code hibernate.jdbc.batch_size}; the persistence context is cleared afterwards.
+     */
+    @Transactional
+    public int createAll(User user, List<Transaction> transactions) {
+        // New names are inserted up front, so the category statements do not interrupt the insert batches
+        Map<String, Category> categoryRefs = categories.referenceAll(user.getId(),
+                transactions.stream().map(Transaction::getCategory).toList());
+        for (Transaction transaction : transactions) {
+            transaction.setUser(user);
+            transaction.setCategoryRef(categoryRefs.get(transaction.getCategory()));
+            entityManager.persist(transaction);
+        }
+        rollupService.recordCreated(transactions);
+        descriptionIndex.recordCreated(user.getId(), transactions);
+        ledgerColumns.recordCreated(user.getId(), transactions);
+        dataVersions.bump(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        return transactions.size();
+    }
+
+    /**
+     * Deletes the user's rows among {@code ids} in one statement; ids that do not exist or belong to someone
+     * else are simply not matched. Returns the rows actually removed.
+     */
+    @Transactional
+    public List<DeletedTransaction> deleteAll(Long userId, Collection<Long> ids) {
+        List<DeletedTransaction> deleted = transactionRepository.deleteByUserIdAndIdIn(userId, ids);
+        if (!deleted.isEmpty()) {
+            rollupService.recordDeleted(userId, deleted);
+            descriptionIndex.recordDeleted(userId, deleted);
+            ledgerColumns.recordDeleted(userId, deleted);
+            dataVersions.bump(userId);
+        }
+        return deleted;
+    }
+
+    @Transactional
+    public void delete(Transaction transaction) {
+        transactionRepository.delete(transaction);
+        rollupService.recordDeleted(transaction);
+        descriptionIndex.recordDeleted(transaction);
+        ledgerColumns.recordDeleted(transaction);
+        dataVersions.bump(transaction.getUser().getId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.personal.finance.service;
+
+import com.personal.finance.repository.MonthlyCategoryTotalRepository;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.projection.CategoryTotal;
+import com.personal.finance.repository.projection.MonthlyTotal;
+import com.personal.finance.service.analytics.LedgerColumnCache;
+import com.personal.finance.service.analytics.LedgerColumns;
+import com.personal.finance.service.money.MoneyTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Dashboard aggregates served from the monthly rollup table, so their cost is O(months x categories)
+ * rather than O(transactions). When the columnar cache is enabled they are answered from memory instead.
+ * Reads run in read-only transactions (no dirty checking, routable to a replica).
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionSummaryService {
+
+    private static final DateTimeFormatter MONTH_KEY = DateTimeFormatter.ofPattern("yyyy-MMMM");
+
+    @Autowired
+    private MonthlyCategoryTotalRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerColumnCache ledgerColumns;
+
+    // Widest range a Postgres date column can hold
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    // Exact two-decimal totals; sums run on long minor units and fail rather than overflow
+    public Map<String, BigDecimal> totalsByCategory(Long userId) {
+        MoneyTotals<String> totals = MoneyTotals.unordered();
+        Optional<LedgerColumns> cached = ledgerColumns.get(userId);
+        if (cached.isPresent()) {
+            cached.get().forEachCategoryTotal(EARLIEST, LATEST, totals::add);
+            return totals.toDecimals();
+        }
+        for (CategoryTotal row : rollupRepository.sumByCategory(userId)) {
+            totals.add(row.getCategory(), row.getTotal());
+        }
+        return totals.toDecimals();
+    }
+
+    public Optional<LocalDate> earliestTransactionDate(Long userId) {
+        return transactionRepository.findEarliestTransactionDate(userId);
+    }
+
+    /**
+     * Totals per month for an inclusive date range. Fully covered months come from the rollup table;
+     * partially covered first and last months are summed in Postgres over the (user_id, date) index.
+     */
+    public Map<String, BigDecimal> monthlyTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        MoneyTotals<LocalDate> byMonth = MoneyTotals.sorted();
+        if (startDate.isAfter(endDate)) {
+            return format(byMonth);
+        }
+
+        Optional<LedgerColumns> cached = ledgerColumns.get(userId);
+        if (cached.isPresent()) {
+            cached.get().forEachMonthTotal(startDate, endDate, byMonth::add);
+            return format(byMonth);
+        }
+
+        LocalDate firstFullMonth = startDate.getDayOfMonth() == 1
+                ? startDate
+                : TransactionRollupService.monthOf(startDate).plusMonths(1);
+        LocalDate lastFullMonth = endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()))
+                ? TransactionRollupService.monthOf(endDate)
+                : TransactionRollupService.monthOf(endDate).minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            // No whole month in range: the query touches at most two months of rows
+            merge(byMonth, transactionRepository.sumByMonthBetween(userId, startDate, endDate));
+            return format(byMonth);
+        }
+
+        merge(byMonth, rollupRepository.sumByMonth(userId, firstFullMonth, lastFullMonth));
+        if (startDate.isBefore(firstFullMonth)) {
+            merge(byMonth, transactionRepository.sumByMonthBetween(userId, startDate, firstFullMonth.minusDays(1)));
+        }
+        LocalDate afterLastFullMonth = lastFullMonth.plusMonths(1);
+        if (!endDate.isBefore(afterLastFullMonth)) {
+            merge(byMonth, transactionRepository.sumByMonthBetween(userId, afterLastFullMonth, endDate));
+        }
+        return format(byMonth);
+    }
+
+    private static void merge(MoneyTotals<LocalDate> byMonth, List<MonthlyTotal> rows) {
+        for (MonthlyTotal row : rows) {
+            byMonth.add(row.getMonth(), row.getTotal());
+        }
+    }
+
+    private static Map<String, BigDecimal> format(MoneyTotals<LocalDate> byMonth) {
+        return byMonth.toDecimals(month -> month.format(MONTH_KEY), TreeMap::new);
+    }
+}
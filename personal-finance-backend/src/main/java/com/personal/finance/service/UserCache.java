@@ -0,0 +1,73 @@
+package com.personal.finance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.UserRepository;
+import com.personal.finance.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, expiring cache of authenticated users keyed by id, so steady-state requests do no user queries.
+ * Entries are evicted by {@link UserCacheEvictionListener} whenever a user row changes.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AuthenticatedUser> usersById;
+    private final Timer lookupTimer;
+
+    public UserCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${users.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.lookupTimer = Timer.builder("auth.user.lookup")
+                .description("User lookups that missed the cache and went to the database")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users");
+    }
+
+    public Optional<AuthenticatedUser> findById(Long id) {
+        AuthenticatedUser cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return lookupTimer.record(() -> userRepository.findById(id)).map(this::put);
+    }
+
+    // Fallback for tokens issued before the user id was added to the claims
+    public Optional<AuthenticatedUser> findByUsername(String username) {
+        return lookupTimer.record(() -> userRepository.findByUsername(username)).map(this::put);
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+    }
+
+    Cache<Long, AuthenticatedUser> cache() {
+        return usersById;
+    }
+
+    private AuthenticatedUser put(User user) {
+        AuthenticatedUser resolved = new AuthenticatedUser(user.getId(), user.getUsername(), user.getEmail());
+        usersById.put(user.getId(), resolved);
+        return resolved;
+    }
+}
@@ -0,0 +1,26 @@
+package com.personal.finance.service;
+
+import com.personal.finance.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops a user's cached principal whenever the row is updated or deleted.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    private final UserCache userCache;
+
+    public UserCacheEvictionListener(@Lazy UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userCache.evict(user.getId());
+    }
+}
@@ -1,7 +1,6 @@
 package com.personal.finance.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.personal.finance.model.User;
 import com.personal.finance.repository.UserRepository;
@@ -21,7 +20,7 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -30,7 +29,7 @@ public class UserService {
         LOGGER.info("Registering user: " + request.getUsername());
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setEmail(request.getEmail());
 
         userRepository.save(user);
@@ -49,14 +48,24 @@ public class UserService {
 
         User user = userOptional.get();
 
-        // Validate password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // Validate password (on the hashing pool; throws PasswordHashingBusyException when saturated)
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
             LOGGER.warning("Login failed: Invalid credentials");
             throw new RuntimeException("Invalid credentials");
         }
 
+        // ✅ Transparently upgrade hashes made with an older BCrypt cost
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashing.encode(request.getPassword()));
+                userRepository.save(user);
+            } catch (PasswordHashingBusyException e) {
+                LOGGER.fine("Skipping rehash under load; retried on the next login");
+            }
+        }
+
         // Generate JWT Token
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername());
         LOGGER.info("Login successful for username: " + request.getUsername());
         return token;
     }
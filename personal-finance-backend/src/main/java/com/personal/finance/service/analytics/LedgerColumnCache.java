@@ -0,0 +1,156 @@
+package com.personal.finance.service.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.projection.LedgerRow;
+import com.personal.finance.service.AfterCommit;
+import com.personal.finance.service.money.MinorUnits;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Optional per-user {@link LedgerColumns} for the analytics endpoints ({@code ledger.columnar-cache.enabled}).
+ * A user's columns are loaded on first use and then patched in place after each committed write; large
+ * batches drop the entry instead, and it is reloaded on next use. Entries share a heap budget and the
+ * least recently used are evicted first.
+ * <p>
+ * Patches go through the cache's per-key compute, which waits for an in-flight load of that user to be
+ * installed and then applies to it, so a write committed during a load is never lost. A load may already
+ * contain a row whose patch arrives afterwards; adds and removes are idempotent per (date, id), so that
+ * row is not counted twice.
+ * <p>
+ * Writes are only seen by this instance, so enable it only when a single instance serves a user's requests.
+ */
+@Service
+public class LedgerColumnCache {
+
+    // Batches larger than this invalidate the user's columns rather than patching them row by row
+    private static final int MAX_INCREMENTAL_BATCH = 64;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, LedgerColumns> columns;
+    private final Timer loadTimer;
+    private final boolean enabled;
+
+    public LedgerColumnCache(TransactionRepository transactionRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${ledger.columnar-cache.enabled:false}") boolean enabled,
+                             @Value("${ledger.columnar-cache.max-bytes:134217728}") long maxBytes) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.columns = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, LedgerColumns ledger) -> (int) Math.min(Integer.MAX_VALUE, ledger.estimatedBytes()))
+                .recordStats()
+                .build();
+        this.loadTimer = Timer.builder("ledger.columns.load")
+                .description("Loading a user's ledger into the columnar cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, columns, "ledger.columns");
+    }
+
+    /**
+     * The user's columns, loading them if needed; empty when the cache is disabled (callers then fall back to
+     * the database).
+     */
+    public Optional<LedgerColumns> get(Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(columns.get(userId, this::load));
+    }
+
+    public void recordCreated(Transaction transaction) {
+        Long id = transaction.getId();
+        LocalDate date = transaction.getDate();
+        BigDecimal amount = transaction.getAmount();
+        String category = transaction.getCategory();
+        afterCommit(transaction.getUser().getId(), ledger -> ledger.add(id, date, MinorUnits.of(amount), category));
+    }
+
+    public void recordCreated(Long userId, Collection<Transaction> transactions) {
+        if (transactions.size() > MAX_INCREMENTAL_BATCH) {
+            if (enabled) {
+                AfterCommit.run(() -> invalidate(userId));
+            }
+            return;
+        }
+        for (Transaction transaction : transactions) {
+            recordCreated(transaction);
+        }
+    }
+
+    public void recordDeleted(Transaction transaction) {
+        Long id = transaction.getId();
+        LocalDate date = transaction.getDate();
+        String category = transaction.getCategory();
+        afterCommit(transaction.getUser().getId(), ledger -> ledger.remove(id, date, category));
+    }
+
+    public void recordDeleted(Long userId, Collection<? extends LedgerRow> rows) {
+        if (rows.size() > MAX_INCREMENTAL_BATCH) {
+            if (enabled) {
+                AfterCommit.run(() -> invalidate(userId));
+            }
+            return;
+        }
+        for (LedgerRow row : rows) {
+            Long id = row.getId();
+            LocalDate date = row.getDate();
+            String category = row.getCategory();
+            afterCommit(userId, ledger -> ledger.remove(id, date, category));
+        }
+    }
+
+    public void invalidate(Long userId) {
+        columns.invalidate(userId);
+    }
+
+    private LedgerColumns load(Long userId) {
+        LedgerColumns ledger = new LedgerColumns(1024);
+        loadTimer.record(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<LedgerRow> rows = transactionRepository.streamLedgerRowsByUserId(userId)) {
+                rows.forEach(row -> ledger.add(row.getId(), row.getDate(), MinorUnits.of(row.getAmount()), row.getCategory()));
+            }
+        }));
+        return ledger;
+    }
+
+    private void afterCommit(Long userId, Consumer<LedgerColumns> change) {
+        if (!enabled) {
+            return;
+        }
+        // compute (unlike getIfPresent) blocks on a load in progress for this user and sees its result
+        AfterCommit.run(() -> columns.asMap().compute(userId, (id, ledger) -> {
+            if (ledger == null) {
+                return null;
+            }
+            try {
+                change.accept(ledger);
+                // Returned again so the cache re-weighs the entry
+                return ledger;
+            } catch (ArithmeticException e) {
+                // Amount with more than two decimals or a total out of range: reload from the database
+                return null;
+            }
+        }));
+    }
+}
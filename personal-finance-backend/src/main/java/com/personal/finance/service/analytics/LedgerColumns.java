@@ -0,0 +1,157 @@
+package com.personal.finance.service.analytics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * One user's ledger as primitive columns: epoch day, amount in minor units (cents) and a dictionary-encoded
+ * category id, sorted by date. Alongside the full column each category keeps its own sorted partition, so a
+ * date-range total is O(log n) and a category breakdown O(categories x log n), both without allocating.
+ * Reads share a lock; in-place inserts and removes take the write lock. Both are idempotent per (date, id).
+ */
+public final class LedgerColumns {
+
+    private final SortedColumn all;
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private String[] categoryNames = new String[8];
+    private SortedColumn[] byCategory = new SortedColumn[8];
+    private int categoryCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public LedgerColumns(int expectedRows) {
+        this.all = new SortedColumn(expectedRows);
+    }
+
+    public void add(long id, LocalDate date, long amountMinor, String category) {
+        int day = Math.toIntExact(date.toEpochDay());
+        lock.writeLock().lock();
+        try {
+            int categoryId = categoryId(category);
+            if (all.insert(day, id, amountMinor, categoryId)) {
+                byCategory[categoryId].insert(day, id, amountMinor, categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, LocalDate date, String category) {
+        int day = Math.toIntExact(date.toEpochDay());
+        lock.writeLock().lock();
+        try {
+            Integer categoryId = categoryIds.get(category);
+            if (all.remove(day, id) && categoryId != null) {
+                byCategory[categoryId].remove(day, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sum in minor units over an inclusive date range
+    public long total(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return all.sum(epochDay(from), epochDay(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls {@code sink} with (category, total in minor units) for every category that has rows in the range.
+     */
+    public void forEachCategoryTotal(LocalDate from, LocalDate to, ObjLongConsumer<String> sink) {
+        int fromDay = epochDay(from);
+        int toDay = epochDay(to);
+        lock.readLock().lock();
+        try {
+            for (int c = 0; c < categoryCount; c++) {
+                if (byCategory[c].count(fromDay, toDay) > 0) {
+                    sink.accept(categoryNames[c], byCategory[c].sum(fromDay, toDay));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Total of one category in the range; 0 when it has no rows
+    public long categoryTotal(String category, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Integer categoryId = categoryIds.get(category);
+            return categoryId == null ? 0 : byCategory[categoryId].sum(epochDay(from), epochDay(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls {@code sink} with (first day of month, total in minor units) for each month of the inclusive range
+     * that has rows; the first and last months are clipped to the range.
+     */
+    public void forEachMonthTotal(LocalDate from, LocalDate to, ObjLongConsumer<LocalDate> sink) {
+        lock.readLock().lock();
+        try {
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                int fromDay = Math.max(epochDay(month.atDay(1)), epochDay(from));
+                int toDay = Math.min(epochDay(month.atEndOfMonth()), epochDay(to));
+                if (all.count(fromDay, toDay) > 0) {
+                    sink.accept(month.atDay(1), all.sum(fromDay, toDay));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate retained heap, used as the cache weight
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 64 + all.estimatedBytes() + 48L * categoryCount;
+            for (int c = 0; c < categoryCount; c++) {
+                bytes += byCategory[c].estimatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int categoryId(String category) {
+        Integer existing = categoryIds.get(category);
+        if (existing != null) {
+            return existing;
+        }
+        if (categoryCount == categoryNames.length) {
+            categoryNames = Arrays.copyOf(categoryNames, categoryCount * 2);
+            byCategory = Arrays.copyOf(byCategory, categoryCount * 2);
+        }
+        int id = categoryCount++;
+        categoryNames[id] = category;
+        byCategory[id] = new SortedColumn(16);
+        categoryIds.put(category, id);
+        return id;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.personal.finance.service.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Rows kept sorted by (epoch day, id) in parallel primitive arrays, with a running prefix sum of amounts,
+ * so the total of any date range is two binary searches and a subtraction. Not thread-safe; guarded by
+ * {@link LedgerColumns}.
+ */
+final class SortedColumn {
+
+    private int size;
+    private int[] days;
+    private long[] ids;
+    private long[] amounts;
+    private int[] categories;
+    // prefix[i] = sum of amounts[0 .. i-1]
+    private long[] prefix;
+
+    SortedColumn(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        days = new int[capacity];
+        ids = new long[capacity];
+        amounts = new long[capacity];
+        categories = new int[capacity];
+        prefix = new long[capacity + 1];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int category(int row) {
+        return categories[row];
+    }
+
+    // Index of the first row on or after the given day
+    int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Sum of amounts for fromDay <= day <= toDay
+    long sum(int fromDay, int toDay) {
+        return prefix[lowerBound(toDay + 1)] - prefix[lowerBound(fromDay)];
+    }
+
+    int count(int fromDay, int toDay) {
+        return lowerBound(toDay + 1) - lowerBound(fromDay);
+    }
+
+    /**
+     * Inserts in (day, id) order and repairs the prefix sums from that point on. Recent dates land near the
+     * end, so the usual cost is a short tail shift. A row already present is left alone (returns false), so
+     * replaying a write the column already holds never counts its amount twice.
+     */
+    boolean insert(int day, long id, long amount, int category) {
+        int position = lowerBound(day);
+        while (position < size && days[position] == day && ids[position] < id) {
+            position++;
+        }
+        if (position < size && days[position] == day && ids[position] == id) {
+            return false;
+        }
+        ensureCapacity(size + 1);
+        int tail = size - position;
+        System.arraycopy(days, position, days, position + 1, tail);
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        System.arraycopy(amounts, position, amounts, position + 1, tail);
+        System.arraycopy(categories, position, categories, position + 1, tail);
+        days[position] = day;
+        ids[position] = id;
+        amounts[position] = amount;
+        categories[position] = category;
+        size++;
+        repairPrefix(position);
+        return true;
+    }
+
+    boolean remove(int day, long id) {
+        int position = lowerBound(day);
+        while (position < size && days[position] == day && ids[position] != id) {
+            position++;
+        }
+        if (position >= size || days[position] != day) {
+            return false;
+        }
+        int tail = size - position - 1;
+        System.arraycopy(days, position + 1, days, position, tail);
+        System.arraycopy(ids, position + 1, ids, position, tail);
+        System.arraycopy(amounts, position + 1, amounts, position, tail);
+        System.arraycopy(categories, position + 1, categories, position, tail);
+        size--;
+        repairPrefix(position);
+        return true;
+    }
+
+    long estimatedBytes() {
+        return 16L + (long) days.length * (4 + 8 + 8 + 4 + 8);
+    }
+
+    private void repairPrefix(int from) {
+        for (int i = from; i < size; i++) {
+            prefix[i + 1] = Math.addExact(prefix[i], amounts[i]);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > days.length) {
+            int capacity = Math.max(required, days.length + (days.length >> 1));
+            days = Arrays.copyOf(days, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            prefix = Arrays.copyOf(prefix, capacity + 1);
+        }
+    }
+}
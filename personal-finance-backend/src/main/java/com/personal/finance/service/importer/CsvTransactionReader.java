@@ -0,0 +1,127 @@
+package com.personal.finance.service.importer;
+
+import com.personal.finance.model.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads CSV with a header row naming the columns {@code date}, {@code description}, {@code amount}
+ * and optionally {@code category}, in any order. Dates are ISO (yyyy-MM-dd); fields may be double-quoted.
+ */
+public class CsvTransactionReader implements TransactionRowReader {
+
+    private final BufferedReader reader;
+    private final String defaultCategory;
+    private long line;
+    private int dateColumn = -1;
+    private int descriptionColumn = -1;
+    private int amountColumn = -1;
+    private int categoryColumn = -1;
+
+    public CsvTransactionReader(Reader reader, String defaultCategory) throws IOException {
+        this.reader = new BufferedReader(reader);
+        this.defaultCategory = defaultCategory;
+        readHeader();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            return;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date" -> dateColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "amount" -> amountColumn = i;
+                case "category" -> categoryColumn = i;
+                default -> { }
+            }
+        }
+        if (dateColumn < 0 || descriptionColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain date, description and amount columns");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String row;
+        do {
+            row = reader.readLine();
+            line++;
+            if (row == null) {
+                return null;
+            }
+        } while (row.isBlank());
+
+        List<String> fields = split(row);
+        try {
+            Transaction transaction = new Transaction();
+            transaction.setDate(LocalDate.parse(field(fields, dateColumn)));
+            transaction.setDescription(field(fields, descriptionColumn));
+            transaction.setAmount(new BigDecimal(field(fields, amountColumn)));
+            String category = categoryColumn >= 0 ? field(fields, categoryColumn) : "";
+            transaction.setCategory(category.isEmpty() ? defaultCategory : category);
+            return ImportRow.of(line, transaction);
+        } catch (DateTimeParseException e) {
+            return ImportRow.failed(line, "Invalid date, expected yyyy-MM-dd");
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(line, "Invalid amount");
+        } catch (IndexOutOfBoundsException e) {
+            return ImportRow.failed(line, "Missing columns");
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        return fields.get(column).trim();
+    }
+
+    // RFC 4180 style split of a single line: quoted fields may contain commas and doubled quotes
+    static List<String> split(String row) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.personal.finance.service.importer;
+
+import com.personal.finance.model.Transaction;
+
+/**
+ * One parsed input row: either a transaction or the reason it could not be read.
+ */
+public record ImportRow(long line, Transaction transaction, String error) {
+
+    public static ImportRow of(long line, Transaction transaction) {
+        return new ImportRow(line, transaction, null);
+    }
+
+    public static ImportRow failed(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,105 @@
+package com.personal.finance.service.importer;
+
+import com.personal.finance.model.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams {@code <STMTTRN>} records out of an OFX statement, both the SGML (1.x, unclosed tags)
+ * and XML (2.x) flavours. Amounts are imported as absolute values; {@code NAME} (or {@code MEMO})
+ * becomes the description.
+ */
+public class OfxTransactionReader implements TransactionRowReader {
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BufferedReader reader;
+    private final String defaultCategory;
+    private long record;
+
+    public OfxTransactionReader(Reader reader, String defaultCategory) {
+        this.reader = new BufferedReader(reader);
+        this.defaultCategory = defaultCategory;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        Map<String, String> fields = null;
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                record++;
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null) {
+                    return toRow(fields);
+                }
+            } else if (fields != null && !tag.startsWith("/")) {
+                fields.put(tag, readValue());
+            }
+        }
+        return fields != null ? toRow(fields) : null;
+    }
+
+    private ImportRow toRow(Map<String, String> fields) {
+        try {
+            String posted = fields.getOrDefault("DTPOSTED", "");
+            String description = fields.getOrDefault("NAME", fields.getOrDefault("MEMO", ""));
+            Transaction transaction = new Transaction();
+            transaction.setDate(LocalDate.parse(posted.substring(0, Math.min(8, posted.length())), OFX_DATE));
+            transaction.setDescription(description);
+            transaction.setAmount(new BigDecimal(fields.getOrDefault("TRNAMT", "").replace(',', '.')).abs());
+            transaction.setCategory(defaultCategory);
+            return ImportRow.of(record, transaction);
+        } catch (DateTimeParseException e) {
+            return ImportRow.failed(record, "Invalid DTPOSTED");
+        } catch (NumberFormatException e) {
+            return ImportRow.failed(record, "Invalid TRNAMT");
+        }
+    }
+
+    // Advances past the next '<' and returns the upper-cased tag name, or null at end of input
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // skip text outside of tags we care about
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder name = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            name.append((char) c);
+        }
+        return name.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Text following an opening tag, up to (not including) the next '<'
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        reader.mark(1);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            value.append((char) c);
+            reader.mark(1);
+        }
+        if (c == '<') {
+            reader.reset();
+        }
+        return value.toString().trim();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
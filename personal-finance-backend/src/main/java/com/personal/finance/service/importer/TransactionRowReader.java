@@ -0,0 +1,13 @@
+package com.personal.finance.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an import file; rows are parsed one at a time so input size never reaches the heap.
+ */
+public interface TransactionRowReader extends Closeable {
+
+    // Next row, or null at end of input
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,35 @@
+package com.personal.finance.service.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between decimal amounts and whole cents held in a {@code long}. Amounts are stored with two
+ * decimals (numeric(38,2)), so the conversion is exact; anything finer or beyond the long range throws.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    // Below 2^50 cents, n / 100.0 * 100 rounds back to n exactly (the error stays far under half a cent)
+    private static final double EXACT_DOUBLE_LIMIT = 0x1p50 / 100;
+
+    private MinorUnits() {
+    }
+
+    // 12.34 -> 1234; ArithmeticException when the amount has more than two decimals or overflows a long
+    public static long of(BigDecimal amount) {
+        // Fast path for stored amounts: doubleValue() reads the compact value without allocating
+        if (amount.scale() == SCALE) {
+            double value = amount.doubleValue();
+            if (Math.abs(value) < EXACT_DOUBLE_LIMIT) {
+                return Math.round(value * 100);
+            }
+        }
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    // 1234 -> 12.34, always with two decimals
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,28 @@
+package com.personal.finance.service.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Running total in minor units. Additions are overflow-checked, so a sum is either exact or fails with
+ * {@link ArithmeticException}; it never wraps or drifts the way a {@code double} does. Not thread-safe.
+ */
+public final class MoneyAccumulator {
+
+    private long minorUnits;
+
+    public void add(long minor) {
+        minorUnits = Math.addExact(minorUnits, minor);
+    }
+
+    public void add(BigDecimal amount) {
+        add(MinorUnits.of(amount));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toDecimal() {
+        return MinorUnits.toDecimal(minorUnits);
+    }
+}
@@ -0,0 +1,57 @@
+package com.personal.finance.service.money;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Exact per-key money totals: one {@link MoneyAccumulator} per key, so summing n rows allocates one holder
+ * per group rather than one boxed value per row. Results are converted to {@link BigDecimal} once, at the end.
+ */
+public final class MoneyTotals<K> {
+
+    private final Map<K, MoneyAccumulator> totals;
+
+    private MoneyTotals(Map<K, MoneyAccumulator> totals) {
+        this.totals = totals;
+    }
+
+    public static <K> MoneyTotals<K> unordered() {
+        return new MoneyTotals<>(new HashMap<>());
+    }
+
+    // Keys iterate in natural order
+    public static <K extends Comparable<? super K>> MoneyTotals<K> sorted() {
+        return new MoneyTotals<>(new TreeMap<>());
+    }
+
+    public void add(K key, long minorUnits) {
+        totals.computeIfAbsent(key, k -> new MoneyAccumulator()).add(minorUnits);
+    }
+
+    public void add(K key, BigDecimal amount) {
+        add(key, MinorUnits.of(amount));
+    }
+
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+
+    public Map<K, BigDecimal> toDecimals() {
+        return toDecimals(Function.identity(), HashMap::new);
+    }
+
+    /**
+     * Totals as two-decimal amounts under mapped keys, in this instance's key order. Keys that map to the
+     * same value must not occur.
+     */
+    public <R> Map<R, BigDecimal> toDecimals(Function<? super K, ? extends R> keyMapper,
+                                             Supplier<? extends Map<R, BigDecimal>> mapFactory) {
+        Map<R, BigDecimal> result = mapFactory.get();
+        totals.forEach((key, total) -> result.put(keyMapper.apply(key), total.toDecimal()));
+        return result;
+    }
+}
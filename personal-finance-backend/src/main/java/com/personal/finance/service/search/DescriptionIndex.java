@@ -0,0 +1,246 @@
+package com.personal.finance.service.search;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one user's transaction descriptions: term → postings sorted by (date, id), so the
+ * newest matches are the tail of every result and a search never needs the database to rank them.
+ * <p>
+ * A query matches transactions containing every query term. The last term also matches as a prefix
+ * (type-ahead), and with {@code fuzzy} each term of 4+ characters also matches terms with the same first
+ * letter within edit distance 1 (2 for 8+ characters). Reads share a lock; incremental adds and removes take the write lock.
+ */
+public final class DescriptionIndex {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 32;
+
+    // Rough heap cost of a TreeMap entry + String header + LongPostings header
+    private static final long TERM_OVERHEAD_BYTES = 40 + 40 + 24;
+
+    // Posting key: days since 0001-01-01 in the high 22 bits (up to year 9999), transaction id in the low 41
+    private static final int ID_BITS = 41;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long FIRST_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+
+    private final NavigableMap<String, LongPostings> terms = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long estimatedBytes = 64;
+
+    public void add(long id, LocalDate date, String description) {
+        long key = key(id, date);
+        List<String> tokens = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens) {
+                LongPostings postings = terms.get(token);
+                if (postings == null) {
+                    postings = new LongPostings();
+                    terms.put(token, postings);
+                    estimatedBytes += TERM_OVERHEAD_BYTES + 2L * token.length();
+                }
+                int capacityBefore = postings.capacity();
+                postings.add(key);
+                estimatedBytes += 8L * (postings.capacity() - capacityBefore);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, LocalDate date, String description) {
+        long key = key(id, date);
+        List<String> tokens = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens) {
+                LongPostings postings = terms.get(token);
+                if (postings != null && postings.remove(key) && postings.size() == 0) {
+                    terms.remove(token);
+                    estimatedBytes -= TERM_OVERHEAD_BYTES + 2L * token.length() + 8L * postings.capacity();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the newest matching transactions (by date, then id), newest first, at most {@code limit}.
+     */
+    public long[] search(String query, boolean fuzzy, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                long[] matches = matchTerm(tokens.get(i), i == tokens.size() - 1, fuzzy);
+                result = result == null ? matches : intersect(result, matches);
+                if (result.length == 0) {
+                    return result;
+                }
+            }
+            int count = Math.min(limit, result.length);
+            long[] newestFirst = new long[count];
+            for (int i = 0; i < count; i++) {
+                newestFirst[i] = result[result.length - 1 - i] & ID_MASK;
+            }
+            return newestFirst;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate retained heap, used as the cache weight
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private static long key(long id, LocalDate date) {
+        if (id < 0 || id > ID_MASK) {
+            throw new IllegalArgumentException("Transaction id out of index range: " + id);
+        }
+        return ((date.toEpochDay() - FIRST_DAY) << ID_BITS) | id;
+    }
+
+    // Sorted union of the postings of every term this query token matches
+    private long[] matchTerm(String token, boolean prefix, boolean fuzzy) {
+        List<LongPostings> matched = new ArrayList<>();
+        if (prefix) {
+            matched.addAll(terms.subMap(token, true, token + Character.MAX_VALUE, false).values());
+        } else {
+            LongPostings exact = terms.get(token);
+            if (exact != null) {
+                matched.add(exact);
+            }
+        }
+        int maxDistance = !fuzzy || token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+        if (maxDistance > 0) {
+            // Candidates share the first character: typos rarely hit it, and it keeps the scan to one dictionary slice
+            char first = token.charAt(0);
+            Map<String, LongPostings> candidates = terms.subMap(String.valueOf(first), true, String.valueOf((char) (first + 1)), false);
+            for (Map.Entry<String, LongPostings> entry : candidates.entrySet()) {
+                String term = entry.getKey();
+                if (!term.equals(token) && !(prefix && term.startsWith(token))
+                        && Math.abs(term.length() - token.length()) <= maxDistance
+                        && withinDistance(token, term, maxDistance)) {
+                    matched.add(entry.getValue());
+                }
+            }
+        }
+        if (matched.size() == 1) {
+            return matched.get(0).toArray();
+        }
+        int total = 0;
+        for (LongPostings postings : matched) {
+            total += postings.size();
+        }
+        long[] union = new long[total];
+        int offset = 0;
+        for (LongPostings postings : matched) {
+            offset = postings.copyInto(union, offset);
+        }
+        Arrays.sort(union);
+        return dedupe(union);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    String token = lower.substring(start, Math.min(i, start + MAX_TERM_LENGTH));
+                    if (!tokens.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Levenshtein distance <= max, abandoning a row as soon as every cell exceeds it
+    static boolean withinDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] dedupe(long[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+}
@@ -0,0 +1,145 @@
+package com.personal.finance.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.projection.TransactionDescription;
+import com.personal.finance.service.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Per-user {@link DescriptionIndex}es, built on a user's first text search and then kept current by the
+ * write path. Indexes share a heap budget ({@code search.description-index.max-bytes}); the least recently
+ * used users' indexes are dropped first and rebuilt on their next search.
+ * <p>
+ * Changes are applied after commit, so a rolled-back write never reaches an index. They go through the
+ * cache's per-key compute, which waits for an in-flight build of that user to be installed and then applies
+ * to it, so a write committed during a build is never lost; postings are a set, so a change the build already
+ * saw is a no-op. Results are always loaded back from the database by id.
+ */
+@Service
+public class DescriptionIndexService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, DescriptionIndex> indexes;
+    private final Timer buildTimer;
+    private final boolean enabled;
+
+    public DescriptionIndexService(TransactionRepository transactionRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${search.description-index.enabled:true}") boolean enabled,
+                                   @Value("${search.description-index.max-bytes:268435456}") long maxBytes) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, DescriptionIndex index) -> (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .recordStats()
+                .build();
+        this.buildTimer = Timer.builder("search.description.index.build")
+                .description("Building a user's description index from the ledger")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "search.description.index");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Ids of the newest matching transactions (by date, then id), newest first
+    public long[] search(Long userId, String query, boolean fuzzy, int limit) {
+        return indexes.get(userId, this::build).search(query, fuzzy, limit);
+    }
+
+    public void recordCreated(Transaction transaction) {
+        long id = transaction.getId();
+        LocalDate date = transaction.getDate();
+        String description = transaction.getDescription();
+        afterCommit(transaction.getUser().getId(), index -> index.add(id, date, description));
+    }
+
+    public void recordCreated(Long userId, Collection<Transaction> transactions) {
+        long[] ids = new long[transactions.size()];
+        LocalDate[] dates = new LocalDate[transactions.size()];
+        String[] descriptions = new String[transactions.size()];
+        int i = 0;
+        for (Transaction transaction : transactions) {
+            ids[i] = transaction.getId();
+            dates[i] = transaction.getDate();
+            descriptions[i++] = transaction.getDescription();
+        }
+        afterCommit(userId, index -> {
+            for (int j = 0; j < ids.length; j++) {
+                index.add(ids[j], dates[j], descriptions[j]);
+            }
+        });
+    }
+
+    public void recordDeleted(Transaction transaction) {
+        long id = transaction.getId();
+        LocalDate date = transaction.getDate();
+        String description = transaction.getDescription();
+        afterCommit(transaction.getUser().getId(), index -> index.remove(id, date, description));
+    }
+
+    public void recordDeleted(Long userId, Collection<? extends TransactionDescription> rows) {
+        long[] ids = new long[rows.size()];
+        LocalDate[] dates = new LocalDate[rows.size()];
+        String[] descriptions = new String[rows.size()];
+        int i = 0;
+        for (TransactionDescription row : rows) {
+            ids[i] = row.getId();
+            dates[i] = row.getDate();
+            descriptions[i++] = row.getDescription();
+        }
+        afterCommit(userId, index -> {
+            for (int j = 0; j < ids.length; j++) {
+                index.remove(ids[j], dates[j], descriptions[j]);
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    private DescriptionIndex build(Long userId) {
+        DescriptionIndex index = new DescriptionIndex();
+        buildTimer.record(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionDescription> rows = transactionRepository.streamDescriptionsByUserId(userId)) {
+                rows.forEach(row -> index.add(row.getId(), row.getDate(), row.getDescription()));
+            }
+        }));
+        return index;
+    }
+
+    private void afterCommit(Long userId, Consumer<DescriptionIndex> change) {
+        if (!enabled) {
+            return;
+        }
+        // compute (unlike getIfPresent) blocks on a build in progress for this user and sees its result
+        AfterCommit.run(() -> indexes.asMap().compute(userId, (id, index) -> {
+            if (index != null) {
+                change.accept(index);
+            }
+            // Returned again so the cache re-weighs the index after it grew or shrank
+            return index;
+        }));
+    }
+}
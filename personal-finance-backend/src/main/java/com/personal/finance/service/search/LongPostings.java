@@ -0,0 +1,67 @@
+package com.personal.finance.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of posting keys backed by a primitive {@code long[]} (8 bytes per posting).
+ * Keys lead with the date, and new transactions are mostly dated today, so adds are usually appends. Not thread-safe; guarded by the owning index.
+ */
+final class LongPostings {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids = EMPTY;
+    private int size;
+
+    boolean add(long id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+            return true;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Appends this list's ids to target[offset..]; returns the new offset
+    int copyInto(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+        return offset + size;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(required, ids.length < 4 ? 4 : ids.length + (ids.length >> 1)));
+        }
+    }
+}
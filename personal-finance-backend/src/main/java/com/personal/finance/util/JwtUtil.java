@@ -1,12 +1,26 @@
 package com.personal.finance.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.*;
 
@@ -16,14 +30,64 @@ public class JwtUtil {
     private static final Logger LOGGER = Logger.getLogger(JwtUtil.class.getName());
     private final String SECRET_KEY = "YourVerySecretKeyThatIsAtLeast32CharactersLong";
     private final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 hour
+    private static final long CLAIMS_CACHE_SIZE = 50_000;
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // ✅ Built once: the parser is immutable and thread-safe
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // ✅ Verified claims keyed by token digest; each entry lives only until its token expires
+    private final Cache<String, Claims> verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(CLAIMS_CACHE_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                    Date expiration = claims.getExpiration();
+                    long remainingMillis = expiration != null
+                            ? expiration.getTime() - System.currentTimeMillis()
+                            : EXPIRATION_TIME;
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    private static final String USER_ID_CLAIM = "uid";
+
+    private final Timer verificationTimer;
+
+    // Standalone use (benchmarks, tools): metrics go to a private registry
+    public JwtUtil() {
+        this(new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.verificationTimer = Timer.builder("auth.jwt.verification")
+                .description("Signature verification and parsing of tokens not yet in the claims cache")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt.claims");
+    }
+
     // Generate Token
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         LOGGER.info("Generating token for username: " + username);
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // ✅ jti: compact key for revocation
                 .setSubject(username)
+                .claim(USER_ID_CLAIM, userId) // ✅ Lets the filter resolve the user without a lookup by name
                 .claim("roles", List.of("USER")) // ✅ Ensure roles are added
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
@@ -34,7 +98,7 @@ public class JwtUtil {
     // Validate Token
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            extractClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             LOGGER.warning("Token validation failed: " + e.getMessage());
@@ -44,19 +108,63 @@ public class JwtUtil {
 
     // Overloaded Validate Token with UserDetails
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = extractClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
     // Check if Token is Expired
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getExpiration();
-        return expiration.before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
     // Extract Username from Token
     public String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claims.getSubject();
+        return extractClaims(token).getSubject();
+    }
+
+    /**
+     * Verify signature and expiry and return every claim. The HMAC check runs once per distinct token;
+     * repeat calls are served from the verified-claims cache until the token expires.
+     */
+    public Claims extractClaims(String token) {
+        String digest = tokenDigest(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verificationTimer.record(() -> parser.parseClaimsJws(token).getBody());
+        verifiedClaims.put(digest, claims);
+        return claims;
+    }
+
+    // User id claim, or null for tokens issued before it was added
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    // Key used for revocation: the jti claim, or the token digest for tokens issued without one
+    public String tokenId(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : tokenDigest(token);
+    }
+
+    // SHA-256 of the raw token; used as a cache key so tokens themselves are never retained
+    public String tokenDigest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Hit/miss counters of the verified-claims cache
+    public CacheStats claimsCacheStats() {
+        return verifiedClaims.stats();
+    }
+
+    public double claimsCacheHitRate() {
+        return verifiedClaims.stats().hitRate();
     }
 }
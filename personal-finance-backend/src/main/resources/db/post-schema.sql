@@ -0,0 +1,42 @@
+-- Runs on every startup after Hibernate's schema update; every statement must be idempotent.
+-- Statements are separated by ^; (spring.sql.init.separator) so DO blocks can contain plain semicolons.
+
+-- Transaction ids moved from IDENTITY to the pooled transaction_seq (increment 50):
+-- keep the sequence ahead of any id already in the table.
+SELECT setval('transaction_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM transaction), (SELECT last_value FROM transaction_seq)))^;
+
+-- Category names moved from varchar columns to the per-user category dictionary (integer ids).
+-- Copies every distinct name into category, points rows at it, then drops the old columns.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'transaction' AND column_name = 'category') THEN
+        INSERT INTO category (user_id, name)
+        SELECT DISTINCT user_id, category FROM transaction WHERE category IS NOT NULL
+        ON CONFLICT (user_id, name) DO NOTHING;
+        UPDATE transaction t SET category_id = c.id FROM category c
+        WHERE t.category_id IS NULL AND c.user_id = t.user_id AND c.name = t.category;
+        ALTER TABLE transaction DROP COLUMN category;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'budget' AND column_name = 'category') THEN
+        INSERT INTO category (user_id, name)
+        SELECT DISTINCT user_id, LEFT(category, 50) FROM budget WHERE category IS NOT NULL
+        ON CONFLICT (user_id, name) DO NOTHING;
+        UPDATE budget b SET category_id = c.id FROM category c
+        WHERE b.category_id IS NULL AND c.user_id = b.user_id AND c.name = LEFT(b.category, 50);
+        ALTER TABLE budget DROP COLUMN category;
+    END IF;
+
+    -- Rollups are derived data: emptied here and rebuilt on integer keys by RollupBackfillRunner
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'monthly_category_total' AND column_name = 'category') THEN
+        TRUNCATE monthly_category_total;
+        ALTER TABLE monthly_category_total DROP COLUMN category;
+    END IF;
+END $$^;
+
+ALTER TABLE transaction ALTER COLUMN category_id SET NOT NULL^;
+ALTER TABLE budget ALTER COLUMN category_id SET NOT NULL^;
+ALTER TABLE monthly_category_total ALTER COLUMN category_id SET NOT NULL^;
@@ -0,0 +1,29 @@
+package com.personal.finance.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecurrenceFrequencyTest {
+
+	@Test
+	void monthlyOccurrencesAreAnchoredOnTheStartDate() {
+		LocalDate start = LocalDate.of(2025, 1, 31);
+
+		assertEquals(LocalDate.of(2025, 2, 28), RecurrenceFrequency.MONTHLY.occurrence(start, 1, 1));
+		assertEquals(LocalDate.of(2025, 3, 31), RecurrenceFrequency.MONTHLY.occurrence(start, 1, 2));
+		assertEquals(LocalDate.of(2025, 7, 31), RecurrenceFrequency.MONTHLY.occurrence(start, 3, 2));
+	}
+
+	@Test
+	void otherFrequenciesStepByTheirUnit() {
+		LocalDate start = LocalDate.of(2024, 2, 29);
+
+		assertEquals(LocalDate.of(2024, 3, 10), RecurrenceFrequency.DAILY.occurrence(start, 10, 1));
+		assertEquals(LocalDate.of(2024, 3, 14), RecurrenceFrequency.WEEKLY.occurrence(start, 2, 1));
+		assertEquals(LocalDate.of(2025, 2, 28), RecurrenceFrequency.YEARLY.occurrence(start, 1, 1));
+		assertEquals(start, RecurrenceFrequency.YEARLY.occurrence(start, 1, 0));
+	}
+}
@@ -0,0 +1,45 @@
+package com.personal.finance.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsBurstThenRefillsAtConfiguredRate() {
+		long now = 0;
+		TokenBucket bucket = new TokenBucket(3, 1.0, now);
+
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		long wait = bucket.tryAcquire(now);
+		assertEquals(SECOND, wait);
+
+		assertEquals(0, bucket.tryAcquire(now + wait));
+		assertTrue(bucket.tryAcquire(now + wait) > 0);
+		assertEquals(3, bucket.available(now + 10 * SECOND));
+	}
+
+	@Test
+	void neverGrantsMoreThanCapacityUnderContention() {
+		TokenBucket bucket = new TokenBucket(100, 0.001, 0);
+		AtomicInteger granted = new AtomicInteger();
+
+		IntStream.range(0, 10_000).parallel().forEach(i -> {
+			if (bucket.tryAcquire(0) == 0) {
+				granted.incrementAndGet();
+			}
+		});
+
+		assertEquals(100, granted.get());
+	}
+}
@@ -0,0 +1,41 @@
+package com.personal.finance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.personal.finance.dto.TransactionView;
+import com.personal.finance.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LedgerStreamServiceTest {
+
+	@Test
+	void ndjsonLinesStartWithTheObject() throws Exception {
+		TransactionRepository repository = mock(TransactionRepository.class);
+		when(repository.streamByUserId(7L)).thenReturn(Stream.of(
+				new TransactionView(2L, "Tea", new BigDecimal("2.00"), LocalDate.of(2025, 6, 2), "Food"),
+				new TransactionView(1L, "Rent", new BigDecimal("900.00"), LocalDate.of(2025, 6, 1), "Housing")));
+		ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		LedgerStreamService service = new LedgerStreamService(repository, mock(CategoryDictionary.class),
+				mock(PlatformTransactionManager.class), objectMapper);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.writeNdjson(7L, out);
+
+		assertEquals("{\"id\":2,\"description\":\"Tea\",\"amount\":2.00,\"date\":\"2025-06-02\",\"category\":\"Food\"}\n"
+				+ "{\"id\":1,\"description\":\"Rent\",\"amount\":900.00,\"date\":\"2025-06-01\",\"category\":\"Housing\"}\n",
+				out.toString(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,58 @@
+package com.personal.finance.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+	@Test
+	void hashesWithLowerCostNeedRehash() {
+		String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+		PasswordHashingService service = new PasswordHashingService(
+				new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 1, 4, 5_000);
+
+		assertTrue(service.matches("secret", oldHash));
+		assertTrue(service.needsRehash(oldHash));
+		assertFalse(service.needsRehash(service.encode("secret")));
+	}
+
+	@Test
+	void rejectsWhenQueueIsFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return true;
+			}
+		};
+		PasswordHashingService service = new PasswordHashingService(blocking, new SimpleMeterRegistry(), 1, 1, 5_000);
+
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("a", "b"));
+		started.await();
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("a", "b"));
+		while (service.queueDepth() == 0) {
+			Thread.onSpinWait();
+		}
+
+		assertThrows(PasswordHashingBusyException.class, () -> service.matches("a", "b"));
+		release.countDown();
+		assertTrue(running.get());
+		assertTrue(queued.get());
+	}
+}
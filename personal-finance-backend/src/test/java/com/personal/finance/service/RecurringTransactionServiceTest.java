@@ -0,0 +1,174 @@
+package com.personal.finance.service;
+
+import com.personal.finance.model.RecurrenceFrequency;
+import com.personal.finance.model.RecurringTransaction;
+import com.personal.finance.model.Transaction;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.RecurringTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionServiceTest {
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	@Mock
+	RecurringTransactionRepository ruleRepository;
+
+	@Mock
+	TransactionService transactionService;
+
+	@Spy
+	MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	RecurringTransactionService service;
+
+	private final User user = new User();
+	private final List<List<Transaction>> inserted = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "spreadWindow", Duration.ofHours(6));
+		ReflectionTestUtils.setField(service, "maxOccurrencesPerRule", 366);
+		user.setId(7L);
+	}
+
+	@Test
+	void catchesUpEveryMissedPeriodAndAdvancesTheCheckpoint() {
+		RecurringTransaction rule = monthlyRule(LocalDate.of(2025, 1, 15), null);
+		Instant now = noonOf(LocalDate.of(2025, 4, 20));
+		claim(rule);
+
+		assertEquals(1, service.materializeDue(now, 10));
+
+		assertEquals(List.of(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 15),
+				LocalDate.of(2025, 3, 15), LocalDate.of(2025, 4, 15)), insertedDates());
+		assertTrue(inserted.get(0).stream().allMatch(row -> rule.getId().equals(row.getRecurringId())));
+		assertEquals(4, rule.getOccurrenceCount());
+		assertEquals(LocalDate.of(2025, 5, 15), rule.getNextOccurrence());
+		Instant slot = LocalDate.of(2025, 5, 15).atStartOfDay(ZONE).toInstant();
+		assertFalse(rule.getNextRunAt().isBefore(slot));
+		assertTrue(rule.getNextRunAt().isBefore(slot.plus(Duration.ofHours(6))));
+	}
+
+	@Test
+	void rerunFromTheCheckpointInsertsNothingTwice() {
+		RecurringTransaction rule = monthlyRule(LocalDate.of(2025, 1, 15), null);
+		Instant now = noonOf(LocalDate.of(2025, 2, 20));
+		claim(rule);
+
+		service.materializeDue(now, 10);
+		// Claimed again at the same instant (e.g. a retried run): the checkpoint already covers every due date
+		service.materializeDue(now, 10);
+
+		verify(transactionService, times(1)).createAll(eq(user), anyList());
+		assertEquals(List.of(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 15)), insertedDates());
+		assertEquals(2, rule.getOccurrenceCount());
+	}
+
+	@Test
+	void longBacklogIsCappedPerBatchAndStaysDue() {
+		ReflectionTestUtils.setField(service, "maxOccurrencesPerRule", 3);
+		RecurringTransaction rule = monthlyRule(LocalDate.of(2025, 1, 1), null);
+		rule.setFrequency(RecurrenceFrequency.DAILY);
+		Instant now = noonOf(LocalDate.of(2025, 1, 10));
+		claim(rule);
+
+		service.materializeDue(now, 10);
+		assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 3)), insertedDates());
+		assertEquals(LocalDate.of(2025, 1, 4), rule.getNextOccurrence());
+		assertTrue(rule.getNextRunAt().isBefore(now));
+
+		service.materializeDue(now, 10);
+		assertEquals(LocalDate.of(2025, 1, 6), insertedDates().get(5));
+		assertEquals(6, rule.getOccurrenceCount());
+	}
+
+	@Test
+	void ruleIsRetiredAfterItsEndDate() {
+		RecurringTransaction rule = monthlyRule(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 28));
+		claim(rule);
+
+		service.materializeDue(noonOf(LocalDate.of(2025, 6, 1)), 10);
+
+		assertEquals(List.of(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 15)), insertedDates());
+		assertNull(rule.getNextOccurrence());
+		assertNull(rule.getNextRunAt());
+	}
+
+	@Test
+	void ruleNotYetDueInsertsNothing() {
+		RecurringTransaction rule = monthlyRule(LocalDate.of(2025, 3, 1), null);
+		claim(rule);
+
+		service.materializeDue(noonOf(LocalDate.of(2025, 2, 1)), 10);
+
+		verify(transactionService, never()).createAll(any(), anyList());
+		assertEquals(0, rule.getOccurrenceCount());
+		assertEquals(LocalDate.of(2025, 3, 1), rule.getNextOccurrence());
+	}
+
+	private RecurringTransaction monthlyRule(LocalDate start, LocalDate end) {
+		RecurringTransaction rule = new RecurringTransaction();
+		rule.setId(42L);
+		rule.setUser(user);
+		rule.setDescription("Rent");
+		rule.setAmount(new BigDecimal("1200.00"));
+		rule.setCategory("Rent");
+		rule.setFrequency(RecurrenceFrequency.MONTHLY);
+		rule.setInterval(1);
+		rule.setStartDate(start);
+		rule.setEndDate(end);
+		rule.setOccurrenceCount(0);
+		return rule;
+	}
+
+	private void claim(RecurringTransaction rule) {
+		when(ruleRepository.lockDue(any(), anyInt())).thenReturn(List.of(rule));
+		lenient().when(transactionService.createAll(eq(user), anyList())).thenAnswer(invocation -> {
+			List<Transaction> batch = invocation.getArgument(1);
+			inserted.add(batch);
+			return batch.size();
+		});
+	}
+
+	private List<LocalDate> insertedDates() {
+		return inserted.stream().flatMap(List::stream).map(Transaction::getDate).toList();
+	}
+
+	private static Instant noonOf(LocalDate date) {
+		return date.atTime(12, 0).atZone(ZONE).toInstant();
+	}
+}
@@ -0,0 +1,36 @@
+package com.personal.finance.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBlacklistServiceTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void revokedTokensSurviveRestartUntilTheyExpire() {
+		String logFile = tempDir.resolve("revoked.log").toString();
+		TokenBlacklistService service = new TokenBlacklistService(logFile, 1000);
+		service.load();
+
+		service.revoke("live", new Date(System.currentTimeMillis() + 60_000));
+		service.revoke("expired", new Date(System.currentTimeMillis() - 1_000));
+
+		assertTrue(service.isRevoked("live"));
+		assertFalse(service.isRevoked("expired"));
+		assertFalse(service.isRevoked("never-revoked"));
+
+		TokenBlacklistService restarted = new TokenBlacklistService(logFile, 1000);
+		restarted.load();
+		assertTrue(restarted.isRevoked("live"));
+		assertEquals(1, restarted.size());
+	}
+}
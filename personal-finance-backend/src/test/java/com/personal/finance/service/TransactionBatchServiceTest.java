@@ -0,0 +1,44 @@
+package com.personal.finance.service;
+
+import com.personal.finance.dto.BatchResult;
+import com.personal.finance.repository.projection.DeletedTransaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+	@Mock
+	TransactionService transactionService;
+
+	@InjectMocks
+	TransactionBatchService batchService;
+
+	@Test
+	void repeatedIdIsDeletedAndCountedOnce() {
+		DeletedTransaction row = mock(DeletedTransaction.class);
+		when(row.getId()).thenReturn(5L);
+		when(transactionService.deleteAll(eq(1L), eq(Set.of(5L, 9L)))).thenReturn(List.of(row));
+
+		BatchResult result = batchService.delete(1L, List.of(5L, 5L, 9L));
+
+		assertTrue(result.applied());
+		assertEquals(1, result.succeeded());
+		assertEquals(2, result.failed());
+		assertEquals(BatchResult.Status.DELETED, result.items().get(0).status());
+		assertEquals(BatchResult.Status.NOT_FOUND, result.items().get(1).status());
+		assertEquals(BatchResult.Status.NOT_FOUND, result.items().get(2).status());
+	}
+}
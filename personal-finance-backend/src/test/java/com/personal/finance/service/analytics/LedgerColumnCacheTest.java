@@ -0,0 +1,106 @@
+package com.personal.finance.service.analytics;
+
+import com.personal.finance.model.Transaction;
+import com.personal.finance.model.User;
+import com.personal.finance.repository.TransactionRepository;
+import com.personal.finance.repository.projection.LedgerRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LedgerColumnCacheTest {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+	private final TransactionRepository repository = mock(TransactionRepository.class);
+	private final LedgerColumnCache cache = new LedgerColumnCache(repository, mock(PlatformTransactionManager.class),
+			new SimpleMeterRegistry(), true, 1 << 20);
+	private final User user = new User();
+
+	@Test
+	void writeAlreadyInTheLoadedSnapshotIsNotCountedTwice() {
+		user.setId(7L);
+		when(repository.streamLedgerRowsByUserId(7L)).thenReturn(Stream.of(row(1, "10.00")));
+		cache.get(7L);
+
+		// The write committed before the load read it, but its after-commit patch arrives after the install
+		cache.recordCreated(transaction(1, "10.00"));
+
+		assertEquals(1, cache.get(7L).orElseThrow().size());
+		assertEquals(1_000, cache.get(7L).orElseThrow().total(DAY, DAY));
+	}
+
+	@Test
+	void writeCommittedWhileLoadingIsAppliedOnceTheLoadIsInstalled() throws Exception {
+		user.setId(8L);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(repository.streamLedgerRowsByUserId(8L)).thenAnswer(invocation -> Stream.of(row(1, "10.00"))
+				.onClose(() -> {
+					loading.countDown();
+					await(release);
+				}));
+
+		CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> cache.get(8L));
+		assertEquals(true, loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> cache.recordCreated(transaction(2, "5.00")));
+		// The patch waits for the load rather than finding no entry and being dropped
+		Thread.sleep(100);
+		assertFalse(writer.isDone());
+
+		release.countDown();
+		reader.get(5, TimeUnit.SECONDS);
+		writer.get(5, TimeUnit.SECONDS);
+		assertEquals(1_500, cache.get(8L).orElseThrow().total(DAY, DAY));
+	}
+
+	private Transaction transaction(long id, String amount) {
+		Transaction transaction = new Transaction();
+		transaction.setId(id);
+		transaction.setUser(user);
+		transaction.setDate(DAY);
+		transaction.setAmount(new BigDecimal(amount));
+		transaction.setCategory("Food");
+		return transaction;
+	}
+
+	private static LedgerRow row(long id, String amount) {
+		return new LedgerRow() {
+			public Long getId() {
+				return id;
+			}
+
+			public LocalDate getDate() {
+				return DAY;
+			}
+
+			public BigDecimal getAmount() {
+				return new BigDecimal(amount);
+			}
+
+			public String getCategory() {
+				return "Food";
+			}
+		};
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.personal.finance.service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LedgerColumnsTest {
+
+	private static final LocalDate JAN_10 = LocalDate.of(2025, 1, 10);
+	private static final LocalDate JAN_20 = LocalDate.of(2025, 1, 20);
+	private static final LocalDate FEB_05 = LocalDate.of(2025, 2, 5);
+
+	@Test
+	void answersRangeCategoryAndMonthTotalsAfterOutOfOrderWrites() {
+		LedgerColumns ledger = new LedgerColumns(4);
+		ledger.add(3, FEB_05, 1_000, "Rent");
+		ledger.add(1, JAN_10, 250, "Food");
+		ledger.add(2, JAN_20, 125, "Food");
+		ledger.add(4, JAN_20, 5_000, "Rent");
+
+		assertEquals(6_375, ledger.total(JAN_10, FEB_05));
+		assertEquals(5_375, ledger.total(JAN_10, JAN_20));
+		assertEquals(125, ledger.categoryTotal("Food", JAN_20, FEB_05));
+		assertEquals(0, ledger.categoryTotal("Travel", JAN_10, FEB_05));
+
+		Map<String, Long> byCategory = new HashMap<>();
+		ledger.forEachCategoryTotal(JAN_10, FEB_05, byCategory::put);
+		assertEquals(Map.of("Food", 375L, "Rent", 6_000L), byCategory);
+
+		Map<LocalDate, Long> byMonth = new TreeMap<>();
+		ledger.forEachMonthTotal(JAN_20, LocalDate.of(2025, 3, 31), byMonth::put);
+		assertEquals(Map.of(LocalDate.of(2025, 1, 1), 5_125L, LocalDate.of(2025, 2, 1), 1_000L), byMonth);
+	}
+
+	@Test
+	void removeRepairsPrefixSums() {
+		LedgerColumns ledger = new LedgerColumns(4);
+		ledger.add(1, JAN_10, 250, "Food");
+		ledger.add(2, JAN_20, 125, "Food");
+		ledger.add(3, FEB_05, 1_000, "Rent");
+
+		ledger.remove(2, JAN_20, "Food");
+
+		assertEquals(2, ledger.size());
+		assertEquals(1_250, ledger.total(JAN_10, FEB_05));
+		assertEquals(250, ledger.categoryTotal("Food", JAN_10, FEB_05));
+		Map<String, Long> byCategory = new HashMap<>();
+		ledger.forEachCategoryTotal(JAN_20, JAN_20, byCategory::put);
+		assertEquals(Map.of(), byCategory);
+	}
+}
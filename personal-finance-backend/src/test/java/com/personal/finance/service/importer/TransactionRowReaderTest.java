@@ -0,0 +1,55 @@
+package com.personal.finance.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransactionRowReaderTest {
+
+	@Test
+	void csvRowsAreParsedInHeaderOrderAndBadRowsReported() throws IOException {
+		String csv = "amount,date,description,category\n"
+				+ "12.50,2024-03-01,\"Coffee, beans\",Food\n"
+				+ "abc,2024-03-02,Broken,Food\n"
+				+ "\n"
+				+ "40,2024-03-03,Fuel,\n";
+		try (CsvTransactionReader reader = new CsvTransactionReader(new StringReader(csv), "Uncategorized")) {
+			ImportRow first = reader.next();
+			assertEquals(new BigDecimal("12.50"), first.transaction().getAmount());
+			assertEquals("Coffee, beans", first.transaction().getDescription());
+			assertEquals(LocalDate.of(2024, 3, 1), first.transaction().getDate());
+
+			ImportRow broken = reader.next();
+			assertEquals(3, broken.line());
+			assertEquals("Invalid amount", broken.error());
+
+			ImportRow defaulted = reader.next();
+			assertEquals("Uncategorized", defaulted.transaction().getCategory());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void ofxSgmlTransactionsAreStreamed() throws IOException {
+		String ofx = "OFXHEADER:100\n<OFX><BANKTRANLIST>\n"
+				+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20240105120000\n<TRNAMT>-23.99\n<NAME>AMAZON MKTP\n</STMTTRN>\n"
+				+ "<STMTTRN><DTPOSTED>20240106</DTPOSTED><TRNAMT>5.00</TRNAMT><MEMO>Refund</MEMO></STMTTRN>\n"
+				+ "</BANKTRANLIST></OFX>";
+		try (OfxTransactionReader reader = new OfxTransactionReader(new StringReader(ofx), "Imported")) {
+			ImportRow first = reader.next();
+			assertEquals(LocalDate.of(2024, 1, 5), first.transaction().getDate());
+			assertEquals(new BigDecimal("23.99"), first.transaction().getAmount());
+			assertEquals("AMAZON MKTP", first.transaction().getDescription());
+
+			ImportRow second = reader.next();
+			assertEquals("Refund", second.transaction().getDescription());
+			assertNull(reader.next());
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.personal.finance.service.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTotalsTest {
+
+	@Test
+	void sumsExactlyWhereDoublesDrift() {
+		MoneyTotals<String> totals = MoneyTotals.unordered();
+		double drifting = 0;
+		for (int i = 0; i < 1_000_000; i++) {
+			totals.add("Food", new BigDecimal("0.10"));
+			drifting += 0.10;
+		}
+		totals.add("Rent", 150_000);
+
+		assertEquals(Map.of("Food", new BigDecimal("100000.00"), "Rent", new BigDecimal("1500.00")), totals.toDecimals());
+		assertNotEquals(100_000.0, drifting);
+	}
+
+	@Test
+	void convertsTwoDecimalAmountsExactly() {
+		SplittableRandom random = new SplittableRandom(21);
+		for (int i = 0; i < 100_000; i++) {
+			long cents = random.nextLong(-(1L << 50), 1L << 50);
+			assertEquals(cents, MinorUnits.of(BigDecimal.valueOf(cents, 2)));
+		}
+		assertEquals(Long.MAX_VALUE, MinorUnits.of(MinorUnits.toDecimal(Long.MAX_VALUE)));
+		assertEquals(1_200, MinorUnits.of(new BigDecimal("12")));
+	}
+
+	@Test
+	void rejectsSubCentAmountsAndOverflow() {
+		assertThrows(ArithmeticException.class, () -> MinorUnits.of(new BigDecimal("1.005")));
+
+		MoneyAccumulator accumulator = new MoneyAccumulator();
+		accumulator.add(Long.MAX_VALUE);
+		assertThrows(ArithmeticException.class, () -> accumulator.add(1));
+		assertEquals(Long.MAX_VALUE, accumulator.minorUnits());
+	}
+}
@@ -0,0 +1,63 @@
+package com.personal.finance.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DescriptionIndexTest {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+	@Test
+	void matchesAllTermsWithPrefixOnTheLastOne() {
+		DescriptionIndex index = new DescriptionIndex();
+		index.add(1, DAY, "Amazon Marketplace");
+		index.add(2, DAY, "AMAZON Prime Video");
+		index.add(3, DAY, "Prime Gym");
+
+		assertArrayEquals(new long[]{2, 1}, index.search("amaz", false, 10));
+		assertArrayEquals(new long[]{2}, index.search("amazon pri", false, 10));
+		assertArrayEquals(new long[]{3, 2}, index.search("prime", false, 10));
+		assertArrayEquals(new long[]{3}, index.search("prime", false, 1));
+	}
+
+	@Test
+	void fuzzyMatchingToleratesTypos() {
+		DescriptionIndex index = new DescriptionIndex();
+		index.add(1, DAY, "Starbucks Coffee");
+
+		assertEquals(0, index.search("starbuks coffee", false, 10).length);
+		assertArrayEquals(new long[]{1}, index.search("starbuks coffee", true, 10));
+	}
+
+	@Test
+	void removeDropsPostingsAndEmptyTerms() {
+		DescriptionIndex index = new DescriptionIndex();
+		index.add(1, DAY, "Netflix");
+		index.add(2, DAY, "Netflix");
+		index.remove(1, DAY, "Netflix");
+
+		assertArrayEquals(new long[]{2}, index.search("netflix", false, 10));
+		index.remove(2, DAY, "Netflix");
+		assertEquals(0, index.termCount());
+	}
+
+	@Test
+	void ranksNewestByDateBeforeId() {
+		DescriptionIndex index = new DescriptionIndex();
+		// Imported later (higher ids) but dated earlier
+		index.add(1, LocalDate.of(2025, 6, 1), "Rent June");
+		index.add(2, LocalDate.of(2025, 7, 1), "Rent July");
+		index.add(3, LocalDate.of(2024, 1, 1), "Rent January");
+		index.add(4, LocalDate.of(2025, 7, 1), "Rent July again");
+
+		assertArrayEquals(new long[]{4, 2, 1, 3}, index.search("rent", false, 10));
+		assertArrayEquals(new long[]{4, 2}, index.search("rent", false, 2));
+
+		index.remove(2, LocalDate.of(2025, 7, 1), "Rent July");
+		assertArrayEquals(new long[]{4, 1}, index.search("rent", false, 2));
+	}
+}